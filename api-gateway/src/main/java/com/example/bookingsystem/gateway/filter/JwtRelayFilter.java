@@ -0,0 +1,86 @@
+package com.example.bookingsystem.gateway.filter;
+
+import com.example.bookingsystem.gateway.security.JwtVerifier;
+import com.example.bookingsystem.gateway.security.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Глобальный фильтр проверки JWT на API Gateway
+ * Проверяет токен один раз и передает во внутренние сервисы доверенные заголовки
+ * с идентичностью пользователя, чтобы сервисы не проверяли подпись повторно
+ */
+@Component
+@Slf4j
+public class JwtRelayFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USERNAME_HEADER = "X-User-Name";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String GATEWAY_TOKEN_HEADER = "X-Gateway-Token";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final String internalToken;
+
+    /**
+     * Внутренний токен не имеет значения по умолчанию: известный всем токен позволил бы любому, кто достучался
+     * до сервиса напрямую, выдать себя за администратора. Без него шлюз не запускается
+     */
+    public JwtRelayFilter(JwtVerifier jwtVerifier,
+                          @Value("${gateway.security.internal-token:}") String internalToken) {
+        if (internalToken.isBlank()) {
+            throw new IllegalStateException(
+                    "Не задан внутренний токен шлюза: укажите переменную окружения GATEWAY_INTERNAL_TOKEN");
+        }
+        this.jwtVerifier = jwtVerifier;
+        this.internalToken = internalToken;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Optional<VerifiedToken> verified = Optional.empty();
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            verified = jwtVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+        }
+
+        // Заголовки идентичности от клиента никогда не пропускаем дальше
+        VerifiedToken token = verified.orElse(null);
+        ServerWebExchange relayed = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    headers.remove(USERNAME_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                    headers.remove(GATEWAY_TOKEN_HEADER);
+                    if (token != null) {
+                        headers.set(USER_ID_HEADER, String.valueOf(token.userId()));
+                        headers.set(USERNAME_HEADER, token.username());
+                        headers.set(USER_ROLE_HEADER, token.role());
+                        headers.set(GATEWAY_TOKEN_HEADER, internalToken);
+                    }
+                }))
+                .build();
+
+        if (token == null && authHeader != null) {
+            log.debug("Запрос {} передан без идентичности: токен не прошел проверку",
+                    exchange.getRequest().getPath());
+        }
+        return chain.filter(relayed);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
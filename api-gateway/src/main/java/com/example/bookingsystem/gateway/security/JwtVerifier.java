@@ -0,0 +1,107 @@
+package com.example.bookingsystem.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Проверка JWT токенов на API Gateway
+ * Результат проверки кэшируется до истечения срока действия токена,
+ * поэтому подпись каждого токена проверяется один раз
+ */
+@Component
+@Slf4j
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Секрет не имеет значения по умолчанию: известным всем ключом любой мог бы подписать токен администратора.
+     * Без JWT_SECRET шлюз не запускается
+     */
+    public JwtVerifier(@Value("${jwt.secret:}") String secret,
+                       @Value("${gateway.security.token-cache-size:10000}") long cacheSize) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("Не задан секрет JWT: укажите переменную окружения JWT_SECRET");
+        }
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenLifetimeExpiry())
+                .build();
+    }
+
+    /**
+     * Проверка токена: сначала по кэшу, затем по подписи
+     * Невалидные токены не кэшируются, чтобы мусорные заголовки не вытесняли рабочие записи
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("roles", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            if (verified.userId() == null || verified.role() == null) {
+                log.debug("Токен не содержит userId или роль");
+                return Optional.empty();
+            }
+            verifiedTokens.put(token, verified);
+            return Optional.of(verified);
+        } catch (Exception e) {
+            log.debug("Токен не прошел проверку: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Время жизни записи в кэше равно оставшемуся сроку действия токена
+     */
+    private static final class TokenLifetimeExpiry implements Expiry<String, VerifiedToken> {
+
+        private static final long NO_EXPIRATION_NANOS = Duration.ofHours(1).toNanos();
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return NO_EXPIRATION_NANOS;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
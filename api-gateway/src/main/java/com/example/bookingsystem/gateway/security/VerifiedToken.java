@@ -0,0 +1,17 @@
+package com.example.bookingsystem.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * Результат успешной проверки JWT токена
+ * Содержит только те claims, которые передаются во внутренние сервисы
+ */
+public record VerifiedToken(Long userId, String username, String role, Instant expiresAt) {
+
+    /**
+     * Проверка истечения срока действия токена
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
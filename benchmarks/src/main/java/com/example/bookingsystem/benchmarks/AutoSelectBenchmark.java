@@ -0,0 +1,63 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+import com.example.bookingsystem.bookingservice.util.RoomRanking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ранжирование номеров при автоподборе (RoomRanking)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoSelectBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<RoomDto> rooms;
+
+    @Setup
+    public void setUp() {
+        rooms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rooms.add(RoomDto.builder()
+                    .id((long) i + 1)
+                    .hotelId((long) i / 50 + 1)
+                    .capacity(1 + i % 4)
+                    .pricePerNight(BigDecimal.valueOf(3000 + i % 200 * 50))
+                    .timesBooked((i * 7919) % 97)
+                    .available(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Optional<RoomDto> anyCapacity() {
+        return RoomRanking.selectLeastBooked(rooms, null);
+    }
+
+    @Benchmark
+    public Optional<RoomDto> forFourGuests() {
+        return RoomRanking.selectLeastBooked(rooms, 4);
+    }
+}
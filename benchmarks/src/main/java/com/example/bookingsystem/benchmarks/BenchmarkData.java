@@ -0,0 +1,65 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.hotelservice.entity.Amenity;
+import com.example.bookingsystem.hotelservice.entity.Room;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Детерминированные наборы данных для бенчмарков
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Room> rooms(int count) {
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rooms.add(Room.builder()
+                    .id((long) i + 1)
+                    .hotelId((long) i / 50 + 1)
+                    .roomNumber(String.valueOf(100 + i))
+                    .roomType(i % 3 == 0 ? "SUITE" : "STANDARD")
+                    .capacity(1 + i % 4)
+                    .pricePerNight(BigDecimal.valueOf(3000 + i % 200 * 50, 0).setScale(2))
+                    .description("Номер " + (100 + i) + " с видом на город")
+                    .amenityMask(Amenity.parseMask("WiFi, кондиционер, мини-бар"))
+                    .timesBooked(i % 97)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return rooms;
+    }
+
+    static List<Booking> bookings(int count, User user) {
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .roomId((long) i % 500 + 1)
+                    .hotelId((long) i % 10 + 1)
+                    .startDate(start.plusDays(i % 365))
+                    .endDate(start.plusDays(i % 365 + 3))
+                    .status(Booking.BookingStatus.CONFIRMED)
+                    .totalPrice(BigDecimal.valueOf(15000, 2))
+                    .guestCount(2)
+                    .requestId("request-" + i)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.util.RoomMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка RoomDto в JSON тем же ObjectMapper, что строит Spring MVC
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<RoomDto> rooms;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        rooms = RoomMapper.INSTANCE.toDtoList(BenchmarkData.rooms(size));
+    }
+
+    @Benchmark
+    public byte[] serializeRooms() throws JsonProcessingException {
+        return writer.writeValueAsBytes(rooms);
+    }
+}
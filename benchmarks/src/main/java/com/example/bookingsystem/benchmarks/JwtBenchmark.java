@@ -0,0 +1,63 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выпуск и разбор JWT токена доступа (JwtUtil)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        DirectFieldAccessor accessor = new DirectFieldAccessor(jwtUtil);
+        accessor.setPropertyValue("secret", "hotelBookingSystemDevelopmentSecretKey2024!");
+        accessor.setPropertyValue("expiration", 3_600_000L);
+
+        user = User.builder()
+                .id(42L)
+                .username("benchmark_user")
+                .role(User.UserRole.USER)
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Long parse() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validate() {
+        return jwtUtil.validateToken(token, "benchmark_user");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.bookingsystem.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.bookingsystem.hotelservice.config.SampledQueryLogger;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность запроса с учетом логирования: сообщения сервиса, контроллера и SQL одного бронирования
+ * - dev: текущая конфигурация (DEBUG, синхронный вывод, каждый SQL запрос в форматированном виде)
+ * - async: то же, но через AsyncAppender с ограниченной очередью
+ * - prod: профиль prod (INFO, AsyncAppender, выборочное логирование SQL через SampledQueryLogger)
+ * Вывод пишется в файл target/logging-benchmark.log
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String[] SQL = {
+            "select u1_0.id,u1_0.created_at,u1_0.password,u1_0.role,u1_0.username from users u1_0 where u1_0.username=?",
+            "insert into bookings (created_at,end_date,request_id,room_id,start_date,status,user_id,id) values (?,?,?,?,?,?,?,default)",
+            "update bookings set created_at=?,end_date=?,request_id=?,room_id=?,start_date=?,status=?,user_id=? where id=?"
+    };
+
+    @Param({"dev", "async", "prod"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger serviceLog;
+    private Logger controllerLog;
+    private Logger sqlLog;
+    private SampledQueryLogger sampledQueryLogger;
+    private final LocalDate startDate = LocalDate.of(2030, 1, 10);
+    private final LocalDate endDate = LocalDate.of(2030, 1, 13);
+
+    @Setup
+    public void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        File file = new File("target/logging-benchmark.log");
+        file.delete();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.getPath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (!mode.equals("dev")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+
+        Level level = mode.equals("prod") ? Level.INFO : Level.DEBUG;
+        serviceLog = logger("com.example.bookingsystem.bookingservice.service.BookingService", level, appender);
+        controllerLog = logger("com.example.bookingsystem.bookingservice.controller.BookingController", level, appender);
+        sqlLog = logger("org.hibernate.SQL", level, appender);
+        logger(SampledQueryLogger.class.getName(), level, appender);
+        sampledQueryLogger = new SampledQueryLogger(0.01, Duration.ofMillis(200));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.reset();
+    }
+
+    @Benchmark
+    public void bookingRequest() {
+        long roomId = 42;
+        String requestId = "b7c9e0f2-2f7e-4d0a-9a43-6d1c4f0b8a11";
+        controllerLog.info("Создание бронирования для номера {} с {} по {}", roomId, startDate, endDate);
+        serviceLog.info("Создание бронирования для пользователя {} с requestId: {}", "user-7", requestId);
+        serviceLog.debug("Бронирование {} сохранено в статусе PENDING", 1001L);
+        serviceLog.debug("Запрос подтверждения доступности номера {} (попытка {})", roomId, 1);
+        serviceLog.info("Бронирование {} подтверждено", 1001L);
+        for (String sql : SQL) {
+            if (mode.equals("prod")) {
+                ExecutionInfo execution = new ExecutionInfo();
+                execution.setSuccess(true);
+                execution.setElapsedTime(1);
+                sampledQueryLogger.afterQuery(execution, List.of(new QueryInfo(sql)));
+            } else if (sqlLog.isDebugEnabled()) {
+                // Аналог show-sql + format_sql: многострочный текст запроса на каждое выполнение
+                sqlLog.debug("\n    " + sql.replace(",", ",\n        ").replace(" from ", "\n    from\n        "));
+            }
+        }
+    }
+
+    private Logger logger(String name, Level level, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(level);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.bookingservice.dto.BookingDto;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.util.BookingMapper;
+import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.util.RoomMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков сущностей в DTO (MapStruct RoomMapper и BookingMapper)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private List<Room> rooms;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        rooms = BenchmarkData.rooms(size);
+        User user = User.builder().id(1L).username("benchmark_user").role(User.UserRole.USER).build();
+        bookings = BenchmarkData.bookings(size, user);
+    }
+
+    @Benchmark
+    public List<RoomDto> roomsToDto() {
+        return RoomMapper.INSTANCE.toDtoList(rooms);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsToDto() {
+        return BookingMapper.INSTANCE.toDtoList(bookings);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityRequest;
+import com.example.bookingsystem.hotelservice.hold.RoomHoldRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения периода поиска с временными блокировками номеров (RoomHoldRegistry)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlapBenchmark {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @Param({"1000", "100000"})
+    private int holds;
+
+    private RoomHoldRegistry registry;
+
+    @Setup
+    public void setUp() {
+        registry = new RoomHoldRegistry(new SimpleMeterRegistry(), Duration.ofHours(1), holds, 30,
+                Duration.ofHours(1));
+        for (int i = 0; i < holds; i++) {
+            LocalDate start = BASE.plusDays(i % 365);
+            registry.hold("request-" + i, RoomAvailabilityRequest.builder()
+                    .roomId((long) i)
+                    .startDate(start)
+                    .endDate(start.plusDays(1 + i % 7))
+                    .requestId("request-" + i)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    @Benchmark
+    public Set<Long> blockedRoomIds() {
+        return registry.blockedRoomIds(BASE.plusDays(100), BASE.plusDays(103));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bookingsystem.benchmarks;
+
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import com.example.bookingsystem.hotelservice.search.RoomPriceEntry;
+import com.example.bookingsystem.hotelservice.search.RoomPriceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Первая страница поиска по ценовому диапазону: срез ценового индекса (RoomPriceIndex)
+ * против полного перебора со сравнением BigDecimal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceRangeBenchmark {
+
+    private static final int HOTELS = 1_000;
+    private static final int QUERIES = 1_024;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000"})
+    private int rooms;
+
+    private List<RoomPriceEntry> entries;
+    private RoomPriceIndex index;
+    private BigDecimal[][] ranges;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entries = new ArrayList<>(rooms);
+        for (long id = 1; id <= rooms; id++) {
+            // Цены от 1 000 до 50 000 с шагом 50
+            BigDecimal price = BigDecimal.valueOf(1_000 + random.nextInt(981) * 50L).setScale(2);
+            entries.add(new RoomPriceEntry(id, 1 + id % HOTELS, price));
+        }
+        index = new RoomPriceIndex(repositoryOf(entries));
+        index.rebuild();
+
+        ranges = new BigDecimal[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            int min = 1_000 + random.nextInt(45_000);
+            ranges[i] = new BigDecimal[]{BigDecimal.valueOf(min), BigDecimal.valueOf(min + 2_000 + random.nextInt(3_000))};
+        }
+    }
+
+    @Benchmark
+    public long[] priceIndex() {
+        BigDecimal[] range = nextRange();
+        return index.findRange(range[0], range[1], null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<RoomPriceEntry> bigDecimalScan() {
+        BigDecimal[] range = nextRange();
+        List<RoomPriceEntry> matched = new ArrayList<>();
+        for (RoomPriceEntry entry : entries) {
+            if (entry.pricePerNight().compareTo(range[0]) >= 0 && entry.pricePerNight().compareTo(range[1]) <= 0) {
+                matched.add(entry);
+            }
+        }
+        matched.sort(Comparator.comparing(RoomPriceEntry::pricePerNight).thenComparing(RoomPriceEntry::roomId));
+        return matched.subList(0, Math.min(matched.size(), PAGE_SIZE + 1));
+    }
+
+    private BigDecimal[] nextRange() {
+        return ranges[next++ & (QUERIES - 1)];
+    }
+
+    /**
+     * Репозиторий, отдающий готовые записи для полного построения индекса
+     */
+    private static RoomRepository repositoryOf(List<RoomPriceEntry> entries) {
+        return (RoomRepository) Proxy.newProxyInstance(RoomRepository.class.getClassLoader(),
+                new Class<?>[]{RoomRepository.class}, (proxy, method, args) -> {
+                    if ("findAllPriceEntries".equals(method.getName())) {
+                        return entries;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Главный класс Booking Service приложения
@@ -12,6 +13,7 @@ import org.springframework.retry.annotation.EnableRetry;
 @SpringBootApplication
 @EnableFeignClients
 @EnableRetry
+@EnableScheduling
 public class BookingServiceApplication {
 
     public static void main(String[] args) {
@@ -1,17 +1,21 @@
 package com.example.bookingsystem.bookingservice.client;
 
+import com.example.bookingsystem.bookingservice.dto.PriceQuoteDto;
 import com.example.bookingsystem.bookingservice.dto.RoomAvailabilityRequest;
 import com.example.bookingsystem.bookingservice.dto.RoomAvailabilityResponse;
 import com.example.bookingsystem.bookingservice.dto.RoomDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Feign клиент для взаимодействия с Hotel Service
  */
-@FeignClient(name = "hotel-service", path = "/api/rooms")
+@FeignClient(name = "hotel-service", path = "/api/rooms", configuration = HotelServiceClientConfig.class)
 public interface HotelServiceClient {
 
     /**
@@ -21,10 +25,39 @@ public interface HotelServiceClient {
     List<RoomDto> getRecommendedRooms(@RequestParam("hotelId") Long hotelId);
 
     /**
-     * Получение всех доступных рекомендованных номеров
+     * Страница комбинированного поиска: доступные номера вместимостью от minCapacity (null - любой),
+     * не заблокированные на пересекающиеся даты, в порядке sort
+     */
+    @GetMapping("/search")
+    List<RoomDto> searchAvailableRooms(@RequestParam(value = "minCapacity", required = false) Integer minCapacity,
+                                       @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                       @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                       @RequestParam("size") int size,
+                                       @RequestParam("sort") String sort);
+
+    /**
+     * Страница доступных номеров; курсор следующей страницы - в заголовке X-Next-Cursor (нет заголовка - последняя страница)
      */
     @GetMapping
-    List<RoomDto> getAllAvailableRooms();
+    ResponseEntity<List<RoomDto>> getAvailableRoomsPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam("size") int size,
+                                                        @RequestParam("sort") String sort);
+
+    /**
+     * Стоимость проживания в номере за период
+     */
+    @GetMapping("/{roomId}/quote")
+    PriceQuoteDto getQuote(@PathVariable("roomId") Long roomId,
+                           @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                           @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
+
+    /**
+     * Стоимость проживания в нескольких номерах на одни даты
+     */
+    @GetMapping("/quotes")
+    List<PriceQuoteDto> getQuotes(@RequestParam("roomIds") List<Long> roomIds,
+                                  @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                  @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate);
 
     /**
      * Подтверждение доступности номера
@@ -39,4 +72,10 @@ public interface HotelServiceClient {
     @PostMapping("/{roomId}/release")
     void releaseRoomBlock(@PathVariable("roomId") Long roomId,
                           @RequestParam("requestId") String requestId);
+
+    /**
+     * Пакетное освобождение блокировок номеров по requestId
+     */
+    @PostMapping("/release")
+    void releaseRoomBlocks(@RequestBody List<String> requestIds);
 }
@@ -0,0 +1,30 @@
+package com.example.bookingsystem.bookingservice.client;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Конфигурация Feign клиента Hotel Service
+ * Вызовы подписываются внутренним токеном шлюза от имени сервиса (роль SERVICE),
+ * чтобы Hotel Service пускал их во внутренние API (пакетное снятие блокировок).
+ * Класс намеренно без @Configuration: подключается только к HotelServiceClient
+ */
+public class HotelServiceClientConfig {
+
+    static final String SERVICE_ROLE = "SERVICE";
+
+    @Bean
+    public RequestInterceptor serviceAuthenticationInterceptor(
+            @Value("${security.gateway.internal-token:}") String internalToken,
+            @Value("${spring.application.name:booking-service}") String serviceName) {
+        return template -> {
+            if (internalToken.isEmpty()) {
+                return;
+            }
+            template.header("X-Gateway-Token", internalToken);
+            template.header("X-User-Name", serviceName);
+            template.header("X-User-Role", SERVICE_ROLE);
+        };
+    }
+}
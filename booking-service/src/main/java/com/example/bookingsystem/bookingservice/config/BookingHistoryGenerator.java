@@ -0,0 +1,353 @@
+package com.example.bookingsystem.bookingservice.config;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Генератор синтетической истории бронирований для нагрузочных тестов (профиль large-catalog)
+ * Номера берутся из каталога Hotel Service (страницами по ID), поэтому бронирования ссылаются на существующие
+ * номера и отели с их ценами. Распределения:
+ * - номер выбирается пропорционально счетчику бронирований Hotel Service: популярные отели загружены сильнее;
+ * - дата заезда - с сезонным весом (лето, новогодние праздники, заезды в пятницу и субботу), длительность
+ *   проживания убывает геометрически, бронирование создается за несколько недель до заезда;
+ * - часть пользователей бронирует постоянно, большинство - изредка.
+ * Подтвержденные бронирования одного номера не пересекаются (инвариант проверяет нагрузочный стенд),
+ * бронирование на занятые даты после нескольких попыток записывается отмененным.
+ * Все сгенерированные пользователи получают один пароль: BCrypt считается один раз, а не на каждого пользователя.
+ * История заканчивается сегодняшним днем: занятость будущих дат ведет Hotel Service (блокировки номеров),
+ * поэтому будущие бронирования в обход него пересекались бы с новыми.
+ * Запускается только при отсутствии бронирований; Hotel Service должен быть запущен раньше.
+ * Пользователи guest1..N, оставшиеся от прерванного запуска, не создаются заново, а получают новую историю
+ */
+@Component
+@ConditionalOnProperty(name = "booking.generator.enabled", havingValue = "true")
+@Slf4j
+public class BookingHistoryGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Александр", "Мария", "Дмитрий", "Анна", "Сергей", "Елена", "Андрей", "Ольга", "Михаил", "Наталья"};
+
+    private static final String[] LAST_NAMES = {
+            "Иванов", "Смирнов", "Кузнецов", "Попов", "Васильев", "Петров", "Соколов", "Михайлов", "Новиков", "Федоров"};
+
+    private static final int ROOM_PAGE_SIZE = 200;
+    private static final int PLACEMENT_ATTEMPTS = 3;
+    private static final int MAX_NIGHTS = 14;
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final HotelServiceClient hotelServiceClient;
+    private final DataSeeding dataSeeding;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int bookings;
+    private final int users;
+    private final int historyDays;
+    private final String userPassword;
+    private final long seed;
+    private final int chunkSize;
+
+    public BookingHistoryGenerator(BookingRepository bookingRepository,
+                                   UserRepository userRepository,
+                                   HotelServiceClient hotelServiceClient,
+                                   DataSeeding dataSeeding,
+                                   PasswordEncoder passwordEncoder,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${booking.generator.bookings:500000}") int bookings,
+                                   @Value("${booking.generator.users:20000}") int users,
+                                   @Value("${booking.generator.history-days:365}") int historyDays,
+                                   @Value("${booking.generator.user-password:guest123}") String userPassword,
+                                   @Value("${booking.generator.seed:42}") long seed,
+                                   @Value("${booking.generator.chunk-size:1000}") int chunkSize) {
+        if (bookings < 0 || users < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "booking.generator: users и chunk-size должны быть положительными, bookings - неотрицательным");
+        }
+        if (historyDays < MAX_NIGHTS) {
+            throw new IllegalArgumentException("booking.generator.history-days должен быть не меньше " + MAX_NIGHTS);
+        }
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.dataSeeding = dataSeeding;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookings = bookings;
+        this.users = users;
+        this.historyDays = historyDays;
+        this.userPassword = userPassword;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        dataSeeding.submit("история бронирований", this::generate);
+    }
+
+    private void generate() {
+        if (bookingRepository.count() > 0) {
+            log.info("Бронирования уже существуют, генерация истории пропущена");
+            return;
+        }
+        List<RoomDto> rooms;
+        try {
+            rooms = loadRooms();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось получить каталог номеров из Hotel Service, генерация истории пропущена: {}",
+                    e.getMessage());
+            return;
+        }
+        if (rooms.isEmpty()) {
+            log.warn("Каталог номеров Hotel Service пуст, генерация истории пропущена");
+            return;
+        }
+        log.info("Генерация истории бронирований: пользователей {}, бронирований {}, номеров в каталоге {}",
+                users, bookings, rooms.size());
+        long started = System.nanoTime();
+
+        Random random = new Random(seed);
+        long[] userIds = createUsers(random);
+        int cancelled = createBookings(random, rooms, userIds);
+
+        log.info("История бронирований создана за {} мс: отменено {} из {}",
+                (System.nanoTime() - started) / 1_000_000, cancelled, bookings);
+    }
+
+    /**
+     * Каталог доступных номеров Hotel Service, страницами в порядке ID
+     */
+    private List<RoomDto> loadRooms() {
+        List<RoomDto> rooms = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<List<RoomDto>> page = hotelServiceClient.getAvailableRoomsPage(cursor, ROOM_PAGE_SIZE, "id");
+            if (page.getBody() != null) {
+                rooms.addAll(page.getBody());
+            }
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+        } while (cursor != null);
+        return rooms;
+    }
+
+    private long[] createUsers(Random random) {
+        String passwordHash = passwordEncoder.encode(userPassword);
+        long[] ids = new long[users];
+        List<User> chunk = new ArrayList<>(chunkSize);
+        int written = 0;
+        int reused = 0;
+        for (int i = 0; i < users; i++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            chunk.add(User.builder()
+                    .username("guest" + (i + 1))
+                    .password(passwordHash)
+                    .email("guest" + (i + 1) + "@generated.example")
+                    .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .lastName(lastName)
+                    .role(User.UserRole.USER)
+                    .build());
+            if (chunk.size() >= chunkSize || i == users - 1) {
+                // Имена, уже занятые в базе, не записываются повторно (нарушили бы уникальность username)
+                Map<String, Long> existing = userRepository.findByUsernameIn(
+                                chunk.stream().map(User::getUsername).toList()).stream()
+                        .collect(Collectors.toMap(User::getUsername, User::getId));
+                List<User> missing = chunk.stream()
+                        .filter(user -> !existing.containsKey(user.getUsername()))
+                        .toList();
+                if (!missing.isEmpty()) {
+                    write(missing);
+                }
+                for (User user : chunk) {
+                    ids[written++] = existing.getOrDefault(user.getUsername(), user.getId());
+                }
+                reused += existing.size();
+                chunk.clear();
+            }
+        }
+        if (reused > 0) {
+            log.info("Использовано {} ранее созданных пользователей генератора", reused);
+        }
+        return ids;
+    }
+
+    private int createBookings(Random random, List<RoomDto> rooms, long[] userIds) {
+        // Выезд не позже сегодняшнего дня
+        LocalDate firstDay = LocalDate.now().minusDays(historyDays);
+        int days = historyDays;
+        double[] dayWeights = cumulative(days, day -> seasonalWeight(firstDay.plusDays(day)));
+        double[] roomWeights = cumulative(rooms.size(), room -> 1 + nonNull(rooms.get(room).getTimesBooked()));
+        // Занятые ночи номеров (по подтвержденным бронированиям), индекс - день от firstDay
+        BitSet[] occupied = new BitSet[rooms.size()];
+
+        List<Booking> chunk = new ArrayList<>(chunkSize);
+        long[] chunkUsers = new long[chunkSize];
+        int cancelled = 0;
+        for (int i = 0; i < bookings; i++) {
+            int nights = nights(random);
+            int roomIndex = 0;
+            int startDay = 0;
+            boolean placed = false;
+            for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS && !placed; attempt++) {
+                roomIndex = sample(random, roomWeights);
+                startDay = Math.min(sample(random, dayWeights), days - nights);
+                BitSet nightsTaken = occupied[roomIndex];
+                placed = nightsTaken == null || nightsTaken.get(startDay, startDay + nights).isEmpty();
+            }
+            LocalDate startDate = firstDay.plusDays(startDay);
+            LocalDate endDate = startDate.plusDays(nights);
+            // Около 12% бронирований отменяются
+            boolean confirmed = placed && random.nextDouble() >= 0.12;
+            if (confirmed) {
+                if (occupied[roomIndex] == null) {
+                    occupied[roomIndex] = new BitSet(days);
+                }
+                occupied[roomIndex].set(startDay, startDay + nights);
+            } else {
+                cancelled++;
+            }
+
+            RoomDto room = rooms.get(roomIndex);
+            int leadDays = (int) Math.min(180, -Math.log(1 - random.nextDouble()) * 21);
+            LocalDateTime createdAt = startDate.minusDays(leadDays).atStartOfDay()
+                    .plusSeconds(random.nextInt(86_400));
+            if (createdAt.isAfter(LocalDateTime.now())) {
+                createdAt = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 7));
+            }
+            int capacity = Math.max(1, nonNull(room.getCapacity()));
+            chunkUsers[chunk.size()] = userIds[repeatCustomer(random, userIds.length)];
+            chunk.add(Booking.builder()
+                    .roomId(room.getId())
+                    .hotelId(room.getHotelId())
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .status(confirmed ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.CANCELLED)
+                    .totalPrice(room.getPricePerNight() != null
+                            ? room.getPricePerNight().multiply(BigDecimal.valueOf(nights))
+                            : null)
+                    .guestCount(1 + random.nextInt(capacity))
+                    .requestId(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+            if (chunk.size() >= chunkSize) {
+                writeBookings(chunk, chunkUsers);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeBookings(chunk, chunkUsers);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Вес дня заезда: летний пик, новогодние праздники и заезды в выходные
+     */
+    static double seasonalWeight(LocalDate date) {
+        double weight = 1;
+        double fromSummerPeak = date.getDayOfYear() - MonthDay.of(7, 20).atYear(date.getYear()).getDayOfYear();
+        weight += 0.8 * Math.exp(-fromSummerPeak * fromSummerPeak / (2 * 35.0 * 35.0));
+        MonthDay monthDay = MonthDay.from(date);
+        if (!monthDay.isBefore(MonthDay.of(12, 28)) || monthDay.isBefore(MonthDay.of(1, 9))) {
+            weight += 1.0;
+        }
+        if (date.getDayOfWeek() == DayOfWeek.FRIDAY || date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            weight += 0.3;
+        }
+        return weight;
+    }
+
+    /**
+     * Длительность проживания: чаще всего 1-3 ночи, редко до двух недель
+     */
+    private static int nights(Random random) {
+        int nights = 1;
+        while (nights < MAX_NIGHTS && random.nextDouble() < 0.55) {
+            nights++;
+        }
+        return nights;
+    }
+
+    /**
+     * Пользователь бронирования: квадрат равномерной величины смещает выбор к первым пользователям
+     */
+    private static int repeatCustomer(Random random, int users) {
+        double value = random.nextDouble();
+        return (int) (value * value * users);
+    }
+
+    private void write(List<User> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * Запись порции бронирований; пользователи подставляются ссылками без чтения из базы
+     */
+    private void writeBookings(List<Booking> chunk, long[] chunkUsers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                Booking booking = chunk.get(i);
+                booking.setUser(entityManager.getReference(User.class, chunkUsers[i]));
+                entityManager.persist(booking);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        chunk.clear();
+    }
+
+    private static double[] cumulative(int size, IntToDoubleFunction weight) {
+        double[] totals = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += weight.applyAsDouble(i);
+            totals[i] = total;
+        }
+        return totals;
+    }
+
+    private static int sample(Random random, double[] cumulative) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, value);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+
+    private static int nonNull(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
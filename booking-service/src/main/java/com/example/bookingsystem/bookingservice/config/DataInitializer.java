@@ -18,9 +18,14 @@ public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DataSeeding dataSeeding;
 
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
+        dataSeeding.submit("тестовые пользователи", this::initialize);
+    }
+
+    private void initialize() {
         log.info("Инициализация тестовых данных для Booking Service");
         
         if (userRepository.count() == 0) {
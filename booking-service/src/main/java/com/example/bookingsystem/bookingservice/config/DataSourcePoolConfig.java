@@ -0,0 +1,48 @@
+package com.example.bookingsystem.bookingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Размер пула соединений Booking Service по ожидаемой нагрузке
+ * Число соединений = ожидаемое число одновременных запросов к сервису x доля времени запроса, в течение которой
+ * удерживается соединение (закон Литтла), в пределах [min-size, max-size]. Пул фиксированного размера
+ * (minimumIdle = maximumPoolSize): соединения не создаются под нагрузкой и не закрываются в простое.
+ * Явно заданный spring.datasource.hikari.maximum-pool-size имеет приоритет
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.datasource.pool.expected-concurrency")
+@Slf4j
+public class DataSourcePoolConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int size = poolSize(
+                            environment.getRequiredProperty("booking.datasource.pool.expected-concurrency", Integer.class),
+                            environment.getProperty("booking.datasource.pool.connection-hold-ratio", Double.class, 1.0),
+                            environment.getProperty("booking.datasource.pool.min-size", Integer.class, 2),
+                            environment.getProperty("booking.datasource.pool.max-size", Integer.class, 50));
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    log.info("Размер пула соединений {}: {}", dataSource.getPoolName(), size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int poolSize(int expectedConcurrency, double connectionHoldRatio, int minSize, int maxSize) {
+        int size = (int) Math.ceil(expectedConcurrency * connectionHoldRatio);
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.bookingsystem.bookingservice.config;
+
+import com.example.bookingsystem.bookingservice.security.PasswordHasher;
+import com.example.bookingsystem.bookingservice.service.BookingCleanupService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Выборочная ленивая инициализация (профиль fast-start, spring.main.lazy-initialization=true)
+ * Контроллеры, сервисы и клиенты создаются при первом обращении. Фоновая очистка создается при старте,
+ * иначе @Scheduled не будет зарегистрирован, пул хэширования паролей - чтобы не замедлять первый вход
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(BookingCleanupService.class, PasswordHasher.class);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bookingsystem.bookingservice.config;
 
 import com.example.bookingsystem.bookingservice.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,7 +38,7 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
                 // Публичные эндпойнты
-                .requestMatchers("/user/register", "/user/auth").permitAll()
+                .requestMatchers("/user/register", "/user/auth", "/user/refresh", "/user/logout").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
                 // Swagger документация
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**").permitAll()
@@ -53,11 +54,12 @@ public class SecurityConfig {
     }
 
     /**
-     * Кодировщик паролей
+     * Кодировщик паролей с настраиваемой стоимостью BCrypt
+     * Статический метод разрывает цикл SecurityConfig -> JwtAuthenticationFilter -> UserService -> PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -1,11 +1,13 @@
 package com.example.bookingsystem.bookingservice.controller;
 
 import com.example.bookingsystem.bookingservice.dto.AuthResponse;
+import com.example.bookingsystem.bookingservice.dto.RefreshTokenRequest;
 import com.example.bookingsystem.bookingservice.dto.UserAuthRequest;
 import com.example.bookingsystem.bookingservice.dto.UserDto;
 import com.example.bookingsystem.bookingservice.dto.UserRegistrationRequest;
 import com.example.bookingsystem.bookingservice.entity.User;
 import com.example.bookingsystem.bookingservice.security.JwtUtil;
+import com.example.bookingsystem.bookingservice.service.RefreshTokenService;
 import com.example.bookingsystem.bookingservice.service.UserService;
 import com.example.bookingsystem.bookingservice.util.UserMapper;
 import jakarta.validation.Valid;
@@ -15,6 +17,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST контроллер для аутентификации и регистрации
  */
@@ -27,52 +31,78 @@ public class AuthController {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Регистрация пользователя
+     * Хэширование пароля выполняется асинхронно, поток сервлета освобождается на время BCrypt
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
         log.info("Регистрация нового пользователя: {}", request.getUsername());
         
-        UserDto userDto = userService.registerUser(request);
-        User user = userService.getUserByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("Ошибка при получении пользователя"));
-        
-        String token = jwtUtil.generateToken(user);
-        
-        AuthResponse response = AuthResponse.builder()
-                .token(token)
-                .tokenType("Bearer")
-                .expiresIn(3600L) // 1 час
-                .user(userDto)
-                .build();
-        
-        log.info("Пользователь {} успешно зарегистрирован", request.getUsername());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return userService.registerUser(request)
+                .thenApply(user -> {
+                    log.info("Пользователь {} успешно зарегистрирован", request.getUsername());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(buildAuthResponse(user));
+                });
     }
 
     /**
      * Аутентификация пользователя
+     * Проверка пароля выполняется асинхронно, поток сервлета освобождается на время BCrypt
      */
     @PostMapping("/auth")
-    public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody UserAuthRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> authenticateUser(@Valid @RequestBody UserAuthRequest request) {
         log.info("Аутентификация пользователя: {}", request.getUsername());
         
-        User user = userService.authenticateUser(request)
-                .orElseThrow(() -> new RuntimeException("Неверные учетные данные"));
+        return userService.authenticateUser(request)
+                .thenApply(authenticated -> {
+                    User user = authenticated.orElseThrow(() -> new RuntimeException("Неверные учетные данные"));
+                    log.info("Пользователь {} успешно аутентифицирован", request.getUsername());
+                    return ResponseEntity.ok(buildAuthResponse(user));
+                });
+    }
+
+    /**
+     * Обновление токена доступа по refresh токену
+     * Дешевый поиск по индексу вместо проверки пароля; refresh токен ротируется при каждом обмене
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        log.debug("Обновление токена доступа");
         
-        String token = jwtUtil.generateToken(user);
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .map(rotation -> ResponseEntity.ok(buildAuthResponse(rotation.user(), rotation.refreshToken())))
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * Выход из системы: отзыв refresh токена
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        log.debug("Отзыв refresh токена");
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Формирование ответа с новой парой токенов
+     */
+    private AuthResponse buildAuthResponse(User user) {
+        return buildAuthResponse(user, refreshTokenService.issue(user));
+    }
+
+    private AuthResponse buildAuthResponse(User user, RefreshTokenService.IssuedToken refreshToken) {
         UserDto userDto = userMapper.toDto(user);
-        
-        AuthResponse response = AuthResponse.builder()
-                .token(token)
+        return AuthResponse.builder()
+                .token(jwtUtil.generateToken(user))
                 .tokenType("Bearer")
-                .expiresIn(3600L) // 1 час
+                .expiresIn(jwtUtil.getExpirationSeconds())
+                .refreshToken(refreshToken.token())
+                .refreshExpiresIn(refreshToken.expiresInSeconds())
                 .user(userDto)
                 .build();
-        
-        log.info("Пользователь {} успешно аутентифицирован", request.getUsername());
-        return ResponseEntity.ok(response);
     }
 }
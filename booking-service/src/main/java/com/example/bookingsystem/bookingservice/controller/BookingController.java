@@ -2,22 +2,27 @@ package com.example.bookingsystem.bookingservice.controller;
 
 import com.example.bookingsystem.bookingservice.dto.BookingDto;
 import com.example.bookingsystem.bookingservice.dto.CreateBookingRequest;
+import com.example.bookingsystem.bookingservice.dto.PriceQuoteDto;
 import com.example.bookingsystem.bookingservice.entity.Booking;
 import com.example.bookingsystem.bookingservice.entity.User;
-import com.example.bookingsystem.bookingservice.security.JwtUtil;
+import com.example.bookingsystem.bookingservice.security.AuthenticatedUser;
+import com.example.bookingsystem.bookingservice.service.BookingCleanupService;
 import com.example.bookingsystem.bookingservice.service.BookingService;
+import com.example.bookingsystem.bookingservice.service.PricingService;
 import com.example.bookingsystem.bookingservice.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -31,37 +36,62 @@ public class BookingController {
 
     private final BookingService bookingService;
     private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final PricingService pricingService;
+    private final BookingCleanupService bookingCleanupService;
 
     /**
      * Создание бронирования
      */
     @PostMapping
     public ResponseEntity<BookingDto> createBooking(@Valid @RequestBody CreateBookingRequest request,
-                                                    HttpServletRequest httpRequest) {
+                                                    @AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("Создание бронирования для номера {} с {} по {}", 
                 request.getRoomId(), request.getStartDate(), request.getEndDate());
         
-        // Извлекаем пользователя из JWT токена
-        String token = extractTokenFromRequest(httpRequest);
-        Long userId = jwtUtil.getUserIdFromToken(token);
-        User user = userService.getUserByUsername(jwtUtil.getUsernameFromToken(token))
+        User user = userService.getUserByUsername(principal.username())
                 .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
         
         BookingDto booking = bookingService.createBooking(request, user);
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
+    /**
+     * Стоимость проживания в номере; расчет кэшируется и используется при последующем бронировании
+     */
+    @GetMapping("/quote")
+    public ResponseEntity<PriceQuoteDto> getQuote(
+            @RequestParam Long roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Расчет стоимости номера {} с {} по {}", roomId, startDate, endDate);
+        return ResponseEntity.ok(pricingService.quote(roomId, startDate, endDate));
+    }
+
+    /**
+     * Стоимость проживания в нескольких номерах (результаты поиска) на одни даты
+     * Не более PricingService.MAX_QUOTE_ROOMS номеров за запрос
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<PriceQuoteDto>> getQuotes(
+            @RequestParam List<Long> roomIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Расчет стоимости {} номеров с {} по {}", roomIds.size(), startDate, endDate);
+        if (roomIds.size() > PricingService.MAX_QUOTE_ROOMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pricingService.quote(roomIds, startDate, endDate));
+    }
+
     /**
      * Получение бронирования по ID
      */
     @GetMapping("/{id}")
     public ResponseEntity<BookingDto> getBookingById(@PathVariable Long id,
-                                                     HttpServletRequest httpRequest) {
+                                                     @AuthenticationPrincipal AuthenticatedUser principal) {
         log.debug("Получение бронирования по ID: {}", id);
         
-        String token = extractTokenFromRequest(httpRequest);
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = principal.id();
         
         return bookingService.getBookingById(id, userId)
                 .map(booking -> ResponseEntity.ok(booking))
@@ -72,11 +102,10 @@ public class BookingController {
      * Получение истории бронирований пользователя
      */
     @GetMapping
-    public ResponseEntity<List<BookingDto>> getUserBookings(HttpServletRequest httpRequest) {
+    public ResponseEntity<List<BookingDto>> getUserBookings(@AuthenticationPrincipal AuthenticatedUser principal) {
         log.debug("Получение истории бронирований пользователя");
         
-        String token = extractTokenFromRequest(httpRequest);
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = principal.id();
         
         List<BookingDto> bookings = bookingService.getUserBookings(userId);
         return ResponseEntity.ok(bookings);
@@ -86,12 +115,11 @@ public class BookingController {
      * Получение истории бронирований пользователя с пагинацией
      */
     @GetMapping("/page")
-    public ResponseEntity<Page<BookingDto>> getUserBookingsWithPagination(HttpServletRequest httpRequest,
+    public ResponseEntity<Page<BookingDto>> getUserBookingsWithPagination(@AuthenticationPrincipal AuthenticatedUser principal,
                                                                           Pageable pageable) {
         log.debug("Получение истории бронирований пользователя с пагинацией");
         
-        String token = extractTokenFromRequest(httpRequest);
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = principal.id();
         
         Page<BookingDto> bookings = bookingService.getUserBookings(userId, pageable);
         return ResponseEntity.ok(bookings);
@@ -102,11 +130,10 @@ public class BookingController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancelBooking(@PathVariable Long id,
-                                              HttpServletRequest httpRequest) {
+                                              @AuthenticationPrincipal AuthenticatedUser principal) {
         log.info("Отмена бронирования с ID: {}", id);
         
-        String token = extractTokenFromRequest(httpRequest);
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = principal.id();
         
         boolean cancelled = bookingService.cancelBooking(id, userId);
         return cancelled ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
@@ -135,24 +162,14 @@ public class BookingController {
     }
 
     /**
-     * Очистка старых бронирований (только для администраторов)
+     * Внеплановая очистка зависших бронирований (только для администраторов)
+     * Обычно выполняется планировщиком; 409, если очистку сейчас выполняет другой экземпляр
      */
     @PostMapping("/admin/cleanup")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> cleanupOldBookings() {
         log.info("Очистка старых бронирований администратором");
-        bookingService.cleanupOldPendingBookings();
-        return ResponseEntity.ok().build();
-    }
-
-    /**
-     * Извлечение JWT токена из запроса
-     */
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        throw new RuntimeException("JWT токен не найден");
+        int cancelled = bookingCleanupService.cleanup();
+        return cancelled < 0 ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok().build();
     }
 }
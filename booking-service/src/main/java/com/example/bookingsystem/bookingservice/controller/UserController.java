@@ -3,6 +3,7 @@ package com.example.bookingsystem.bookingservice.controller;
 import com.example.bookingsystem.bookingservice.dto.UserDto;
 import com.example.bookingsystem.bookingservice.dto.UserRegistrationRequest;
 import com.example.bookingsystem.bookingservice.service.UserService;
+import com.example.bookingsystem.bookingservice.util.UserMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST контроллер для управления пользователями
@@ -23,16 +25,17 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserMapper userMapper;
 
     /**
      * Создание пользователя (только для администраторов)
      */
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserRegistrationRequest request) {
+    public CompletableFuture<ResponseEntity<UserDto>> createUser(@Valid @RequestBody UserRegistrationRequest request) {
         log.info("Создание пользователя администратором: {}", request.getUsername());
-        UserDto user = userService.registerUser(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(user);
+        return userService.registerUser(request)
+                .thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(userMapper.toDto(user)));
     }
 
     /**
@@ -63,12 +66,13 @@ public class UserController {
      */
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<UserDto> updateUser(@PathVariable Long id, 
-                                             @Valid @RequestBody UserRegistrationRequest request) {
+    public CompletableFuture<ResponseEntity<UserDto>> updateUser(@PathVariable Long id, 
+                                                                @Valid @RequestBody UserRegistrationRequest request) {
         log.info("Обновление пользователя с ID: {}", id);
         return userService.updateUser(id, request)
-                .map(user -> ResponseEntity.ok(user))
-                .orElse(ResponseEntity.notFound().build());
+                .thenApply(user -> user
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     /**
@@ -17,5 +17,7 @@ public class AuthResponse {
     private String token;
     private String tokenType;
     private Long expiresIn;
+    private String refreshToken;
+    private Long refreshExpiresIn;
     private UserDto user;
 }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -25,7 +26,7 @@ public class BookingDto {
     private LocalDate startDate;
     private LocalDate endDate;
     private Booking.BookingStatus status;
-    private Double totalPrice;
+    private BigDecimal totalPrice;
     private Integer guestCount;
     private String specialRequests;
     private String requestId;
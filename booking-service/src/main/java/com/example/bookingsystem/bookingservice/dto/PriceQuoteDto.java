@@ -0,0 +1,26 @@
+package com.example.bookingsystem.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO стоимости проживания в номере за период [startDate, endDate), получаемой из Hotel Service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteDto {
+
+    private Long roomId;
+    private Long hotelId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer nights;
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,7 @@
+package com.example.bookingsystem.bookingservice.dto;
+
+/**
+ * Ссылка на зависшее бронирование для отмены и компенсации
+ */
+public record StaleBookingRef(Long id, Long roomId, String requestId) {
+}
@@ -0,0 +1,72 @@
+package com.example.bookingsystem.bookingservice.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Глобальный обработчик исключений для REST контроллеров
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    /**
+     * Отказ в доступе из @PreAuthorize не должен превращаться в 500
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAccessDenied(AccessDeniedException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                "error", String.valueOf(e.getMessage()),
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Пул хэширования паролей переполнен: клиенту следует повторить запрос позже
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                        "error", "Сервис перегружен, повторите запрос позже",
+                        "timestamp", LocalDateTime.now()
+                ));
+    }
+
+    /**
+     * Ошибка из CompletableFuture, ожидаемого синхронно
+     */
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<Map<String, Object>> handleCompletionException(CompletionException e) {
+        if (e.getCause() instanceof RejectedExecutionException rejected) {
+            return handleRejectedExecution(rejected);
+        }
+        if (e.getCause() instanceof RuntimeException cause) {
+            return handleRuntimeException(cause);
+        }
+        return handleRuntimeException(e);
+    }
+
+    /**
+     * Ошибки бизнес-логики и межсервисного взаимодействия
+     */
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException e) {
+        log.warn("Ошибка обработки запроса: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "error", String.valueOf(e.getMessage()),
+                "timestamp", LocalDateTime.now()
+        ));
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.bookingsystem.bookingservice.repository;
 
+import com.example.bookingsystem.bookingservice.dto.StaleBookingRef;
 import com.example.bookingsystem.bookingservice.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,8 +77,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Booking.BookingStatus status);
 
     /**
-     * Поиск старых бронирований в статусе PENDING
+     * Очередная порция зависших бронирований в статусе PENDING (только ссылки для компенсации)
+     * Строки блокируются до конца транзакции, чтобы их статус не изменился до массовой отмены
      */
-    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.createdAt < :cutoffDate")
-    List<Booking> findOldPendingBookings(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.bookingsystem.bookingservice.dto.StaleBookingRef(b.id, b.roomId, b.requestId) " +
+           "FROM Booking b WHERE b.status = :status AND b.createdAt < :cutoffDate ORDER BY b.id")
+    List<StaleBookingRef> findStaleBookings(@Param("status") Booking.BookingStatus status,
+                                            @Param("cutoffDate") LocalDateTime cutoffDate,
+                                            Limit limit);
+
+    /**
+     * Массовая отмена порции зависших бронирований одним UPDATE
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :cancelled, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status = :pending AND b.createdAt < :cutoffDate")
+    int cancelStaleBookings(@Param("ids") Collection<Long> ids,
+                            @Param("pending") Booking.BookingStatus pending,
+                            @Param("cancelled") Booking.BookingStatus cancelled,
+                            @Param("cutoffDate") LocalDateTime cutoffDate,
+                            @Param("now") LocalDateTime now);
 }
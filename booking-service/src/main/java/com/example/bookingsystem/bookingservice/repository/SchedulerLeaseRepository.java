@@ -0,0 +1,44 @@
+package com.example.bookingsystem.bookingservice.repository;
+
+import com.example.bookingsystem.bookingservice.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Репозиторий аренд фоновых задач
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Захват истекшей аренды или продление собственной одним условным UPDATE
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Продление аренды только текущим владельцем
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lockedUntil = :lockedUntil WHERE l.name = :name AND l.owner = :owner")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Досрочное освобождение аренды владельцем
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
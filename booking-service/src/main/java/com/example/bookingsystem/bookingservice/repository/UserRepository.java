@@ -2,8 +2,14 @@ package com.example.bookingsystem.bookingservice.repository;
 
 import com.example.bookingsystem.bookingservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +23,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Пользователи с указанными именами (повторный запуск генератора истории)
+     */
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     /**
      * Поиск пользователя по email
      */
@@ -31,4 +42,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Проверка существования пользователя по email
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Обновление хэша пароля без загрузки сущности (перехэширование при входе)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,17 @@
+package com.example.bookingsystem.bookingservice.security;
+
+import com.example.bookingsystem.bookingservice.entity.User;
+
+/**
+ * Аутентифицированный пользователь в контексте безопасности
+ * Формируется из доверенных заголовков API Gateway или из JWT токена без загрузки сущности
+ */
+public record AuthenticatedUser(Long id, String username, User.UserRole role) {
+
+    /**
+     * Создание из сущности пользователя
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookingsystem.bookingservice.security;
 
+import com.example.bookingsystem.bookingservice.entity.User;
 import com.example.bookingsystem.bookingservice.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,56 +17,114 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Collections;
 
 /**
  * JWT фильтр аутентификации
+ * Запросы через API Gateway аутентифицируются по доверенным заголовкам без проверки подписи,
+ * прямые запросы с Bearer токеном проверяются как прежде
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final String USERNAME_HEADER = "X-User-Name";
+    static final String USER_ROLE_HEADER = "X-User-Role";
+    static final String GATEWAY_TOKEN_HEADER = "X-Gateway-Token";
+
     private final JwtUtil jwtUtil;
     private final UserService userService;
 
+    @Value("${security.gateway.internal-token:}")
+    private String gatewayInternalToken;
+
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        try {
-            jwt = authHeader.substring(7);
-            username = jwtUtil.getUsernameFromToken(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var user = userService.getUserByUsername(username);
-                
-                if (user.isPresent() && jwtUtil.validateToken(jwt, username)) {
-                    var authorities = Collections.singletonList(
-                            new SimpleGrantedAuthority("ROLE_" + user.get().getRole().name())
-                    );
-
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            user.get(), null, authorities);
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("Пользователь {} успешно аутентифицирован", username);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                AuthenticatedUser principal = isTrustedGatewayRequest(request)
+                        ? fromGatewayHeaders(request)
+                        : fromBearerToken(request);
+                if (principal != null) {
+                    authenticate(principal, request);
                 }
+            } catch (Exception e) {
+                log.warn("Ошибка при аутентификации JWT токена: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("Ошибка при аутентификации JWT токена: {}", e.getMessage());
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Асинхронные контроллеры (вход и регистрация) повторно проходят цепочку фильтров при ASYNC диспетчеризации,
+     * поэтому аутентификацию нужно восстановить и там
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Запрос пришел через API Gateway, если он несет совпадающий внутренний токен шлюза
+     */
+    private boolean isTrustedGatewayRequest(HttpServletRequest request) {
+        String token = request.getHeader(GATEWAY_TOKEN_HEADER);
+        if (token == null || gatewayInternalToken.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8),
+                gatewayInternalToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Идентичность из заголовков, выставленных шлюзом после проверки токена
+     */
+    private AuthenticatedUser fromGatewayHeaders(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        String username = request.getHeader(USERNAME_HEADER);
+        String role = request.getHeader(USER_ROLE_HEADER);
+        if (userId == null || username == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(Long.valueOf(userId), username, User.UserRole.valueOf(role));
+    }
+
+    /**
+     * Идентичность из Bearer токена (прямой доступ к сервису в обход шлюза)
+     */
+    private AuthenticatedUser fromBearerToken(HttpServletRequest request) {
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+
+        // Подпись и срок действия проверяются при разборе токена
+        final String username = jwtUtil.getUsernameFromToken(authHeader.substring(7));
+        if (username == null) {
+            return null;
+        }
+        return userService.getUserByUsername(username)
+                .map(AuthenticatedUser::from)
+                .orElse(null);
+    }
+
+    private void authenticate(AuthenticatedUser principal, HttpServletRequest request) {
+        var authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + principal.role().name())
+        );
+
+        var authToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Пользователь {} успешно аутентифицирован", principal.username());
+    }
 }
@@ -4,6 +4,7 @@ import com.example.bookingsystem.bookingservice.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -21,12 +22,22 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    /**
+     * Секрет не имеет значения по умолчанию: без JWT_SECRET сервис не запускается
+     */
+    @PostConstruct
+    void checkSecret() {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("Не задан секрет JWT: укажите переменную окружения JWT_SECRET");
+        }
+    }
+
     
      //Получение секретного ключа
      
@@ -48,6 +59,13 @@ public class JwtUtil {
         return createToken(claims, user.getUsername());
     }
 
+    /**
+     * Время жизни токена доступа в секундах
+     */
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
     /**
      * Создание JWT токена
      */
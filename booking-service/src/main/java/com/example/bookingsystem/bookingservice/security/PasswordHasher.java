@@ -0,0 +1,145 @@
+package com.example.bookingsystem.bookingservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Хэширование паролей на выделенном ограниченном пуле потоков
+ * BCrypt намеренно дорог, поэтому всплеск логинов не должен занимать потоки,
+ * обслуживающие бронирования: при переполнении очереди задача сразу отклоняется.
+ * Продолжения с обращениями к БД выполняются на {@link #callbackExecutor()}, а не в пуле хэширования
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String METRIC_PREFIX = "password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final Executor callbackExecutor;
+    private final String dummyHash;
+    private final Counter rejectedCounter;
+    private final Counter rehashCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor callbackExecutor,
+                          @Value("${security.password.hashing.pool-size:0}") int poolSize,
+                          @Value("${security.password.hashing.queue-capacity:100}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.callbackExecutor = callbackExecutor;
+        this.dummyHash = passwordEncoder.encode("dummy-password");
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, METRIC_PREFIX, List.of());
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Задачи хэширования, отклоненные из-за переполнения очереди")
+                .register(meterRegistry);
+        this.rehashCounter = Counter.builder(METRIC_PREFIX + ".rehashed")
+                .description("Пароли, перехэшированные при входе после смены стоимости BCrypt")
+                .register(meterRegistry);
+
+        log.info("Пул хэширования паролей: {} потоков, очередь {}", threads, queueCapacity);
+    }
+
+    /**
+     * Асинхронное хэширование пароля
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Асинхронная проверка пароля
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверка пароля для несуществующего пользователя против фиктивного хэша
+     * Занимает столько же времени, сколько неверный пароль, и не выдает наличие имени
+     */
+    public CompletableFuture<Boolean> matchesDummy(CharSequence rawPassword) {
+        return submit(() -> {
+            passwordEncoder.matches(rawPassword, dummyHash);
+            return false;
+        });
+    }
+
+    /**
+     * Исполнитель для продолжений после хэширования (сохранение, выдача токенов)
+     */
+    public Executor callbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Нужно ли перехэшировать пароль под текущую стоимость BCrypt
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Учет выполненного перехэширования
+     */
+    public void recordRehash() {
+        rehashCounter.increment();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Очередь хэширования паролей переполнена, запрос отклонен");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Именованные потоки-демоны для профилирования
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.StaleBookingRef;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Фоновая отмена зависших бронирований в статусе PENDING
+ * Бронирования обрабатываются порциями: выборка ссылок и массовый UPDATE в короткой транзакции,
+ * затем одна пакетная компенсация в Hotel Service на порцию. Запуск на нескольких экземплярах
+ * безопасен: задачу выполняет владелец аренды, который продлевает ее после каждой порции
+ */
+@Service
+@Slf4j
+public class BookingCleanupService {
+
+    static final String LEASE_NAME = "booking-cleanup";
+
+    private final BookingRepository bookingRepository;
+    private final HotelServiceClient hotelServiceClient;
+    private final LeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.cleanup.pending-ttl:1h}")
+    private Duration pendingTtl;
+
+    @Value("${booking.cleanup.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${booking.cleanup.max-chunks:20}")
+    private int maxChunks;
+
+    @Value("${booking.cleanup.lease-duration:10m}")
+    private Duration leaseDuration;
+
+    public BookingCleanupService(BookingRepository bookingRepository, HotelServiceClient hotelServiceClient,
+                                 LeaseService leaseService, TransactionTemplate transactionTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.leaseService = leaseService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Плановый запуск
+     */
+    @Scheduled(fixedDelayString = "${booking.cleanup.interval:PT5M}",
+               initialDelayString = "${booking.cleanup.initial-delay:PT1M}")
+    public void scheduledCleanup() {
+        if (enabled) {
+            cleanup();
+        }
+    }
+
+    /**
+     * Отмена зависших бронирований, если аренда задачи получена
+     *
+     * @return количество отмененных бронирований или -1, если задачу выполняет другой экземпляр
+     */
+    public int cleanup() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Очистку бронирований выполняет другой экземпляр");
+            return -1;
+        }
+        try {
+            LocalDateTime cutoffDate = LocalDateTime.now().minus(pendingTtl);
+            int cancelled = 0;
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                List<StaleBookingRef> refs = cancelChunk(cutoffDate);
+                cancelled += refs.size();
+                compensate(refs);
+                if (refs.size() < chunkSize) {
+                    break;
+                }
+                // Аренда продлевается между порциями; если ее перехватили, работу продолжает новый владелец
+                if (!leaseService.renew(LEASE_NAME, leaseDuration)) {
+                    log.warn("Аренда очистки бронирований потеряна после {} отмен, обработка прервана", cancelled);
+                    break;
+                }
+            }
+            log.info("Очищено {} зависших бронирований старше {}", cancelled, cutoffDate);
+            return cancelled;
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Порция: выборка ссылок с блокировкой строк и массовая отмена в одной транзакции
+     */
+    private List<StaleBookingRef> cancelChunk(LocalDateTime cutoffDate) {
+        return transactionTemplate.execute(status -> {
+            List<StaleBookingRef> refs = bookingRepository.findStaleBookings(
+                    Booking.BookingStatus.PENDING, cutoffDate, Limit.of(chunkSize));
+            if (!refs.isEmpty()) {
+                bookingRepository.cancelStaleBookings(refs.stream().map(StaleBookingRef::id).toList(),
+                        Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED, cutoffDate,
+                        LocalDateTime.now());
+            }
+            return refs;
+        });
+    }
+
+    /**
+     * Пакетное освобождение блокировок номеров; ошибка не откатывает отмену,
+     * оставшиеся блокировки истекают в Hotel Service по TTL
+     */
+    private void compensate(List<StaleBookingRef> refs) {
+        List<String> requestIds = refs.stream()
+                .map(StaleBookingRef::requestId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (requestIds.isEmpty()) {
+            return;
+        }
+        try {
+            hotelServiceClient.releaseRoomBlocks(requestIds);
+        } catch (Exception e) {
+            log.error("Ошибка при пакетном снятии {} блокировок номеров: {}", requestIds.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Метрики саги создания бронирования
+ * Таймер booking.saga.step - длительность каждого шага с тегами step, outcome, autoSelect и attempt
+ * (номер попытки для подтверждения доступности, "none" для остальных шагов); booking.saga - сага целиком.
+ * Перцентили и гистограммы включаются в management.metrics.distribution для префикса booking.saga
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingSagaMetrics {
+
+    public static final String SAGA = "booking.saga";
+    public static final String STEP = "booking.saga.step";
+    public static final String COMPENSATIONS = "booking.saga.compensations";
+    public static final String RETRIES_EXHAUSTED = "booking.saga.retries.exhausted";
+
+    /**
+     * Шаги саги
+     */
+    public enum Step {
+        IDEMPOTENCY,
+        SELECT_ROOM,
+        QUOTE,
+        SAVE_PENDING,
+        CONFIRM_AVAILABILITY,
+        SAVE_CONFIRMED,
+        COMPENSATION;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Завершение шага саги
+     */
+    public void step(Timer.Sample sample, Step step, String outcome, boolean autoSelect) {
+        step(sample, step, outcome, autoSelect, 0);
+    }
+
+    /**
+     * Завершение попытки шага саги
+     *
+     * @param attempt номер попытки, начиная с 1; 0 - шаг без повторов
+     */
+    public void step(Timer.Sample sample, Step step, String outcome, boolean autoSelect, int attempt) {
+        sample.stop(Timer.builder(STEP)
+                .description("Длительность шага саги создания бронирования")
+                .tag("step", step.tag())
+                .tag("outcome", outcome)
+                .tag("autoSelect", String.valueOf(autoSelect))
+                .tag("attempt", attempt > 0 ? String.valueOf(attempt) : "none")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Выполнение шага без повторов: outcome success или failure (исключение)
+     */
+    public <T> T record(Step step, boolean autoSelect, Supplier<T> action) {
+        Timer.Sample sample = start();
+        try {
+            T result = action.get();
+            step(sample, step, "success", autoSelect);
+            return result;
+        } catch (RuntimeException e) {
+            step(sample, step, "failure", autoSelect);
+            throw e;
+        }
+    }
+
+    /**
+     * Завершение саги целиком
+     */
+    public void saga(Timer.Sample sample, String outcome, boolean autoSelect) {
+        sample.stop(Timer.builder(SAGA)
+                .description("Длительность саги создания бронирования")
+                .tag("outcome", outcome)
+                .tag("autoSelect", String.valueOf(autoSelect))
+                .register(meterRegistry));
+    }
+
+    /**
+     * Компенсация саги
+     *
+     * @param reason unavailable - номер недоступен, error - ошибка на одном из шагов
+     */
+    public void compensation(String reason, boolean autoSelect) {
+        Counter.builder(COMPENSATIONS)
+                .description("Компенсации саги создания бронирования")
+                .tag("reason", reason)
+                .tag("autoSelect", String.valueOf(autoSelect))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Исчерпание повторных попыток шага
+     */
+    public void retriesExhausted(Step step) {
+        Counter.builder(RETRIES_EXHAUSTED)
+                .description("Шаги саги, не выполненные после всех повторных попыток")
+                .tag("step", step.tag())
+                .register(meterRegistry)
+                .increment();
+    }
+}
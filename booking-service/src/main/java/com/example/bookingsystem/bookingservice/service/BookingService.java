@@ -5,7 +5,10 @@ import com.example.bookingsystem.bookingservice.dto.*;
 import com.example.bookingsystem.bookingservice.entity.Booking;
 import com.example.bookingsystem.bookingservice.entity.User;
 import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import com.example.bookingsystem.bookingservice.service.BookingSagaMetrics.Step;
 import com.example.bookingsystem.bookingservice.util.BookingMapper;
+import com.example.bookingsystem.bookingservice.util.RoomRanking;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,7 +17,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,133 +31,157 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class BookingService {
 
+    /**
+     * Размер выдачи для автоподбора: наименее загруженный номер всегда в начале отсортированной выдачи,
+     * окончательный выбор среди первых записей делает RoomRanking
+     */
+    private static final int AUTO_SELECT_CANDIDATES = 10;
+
     private final BookingRepository bookingRepository;
     private final HotelServiceClient hotelServiceClient;
     private final BookingMapper bookingMapper;
+    private final PricingService pricingService;
+    private final BookingSagaMetrics sagaMetrics;
 
     /**
      * Создание бронирования с сагой
+     * Каждый шаг публикует таймер booking.saga.step, сага целиком - booking.saga (см. BookingSagaMetrics)
      */
     @Transactional
     public BookingDto createBooking(CreateBookingRequest request, User user) {
         log.info("Создание бронирования для пользователя {} с {} по {}, autoSelect={}", 
                 user.getUsername(), request.getStartDate(), request.getEndDate(), request.getAutoSelect());
         
-        // Генерируем requestId для идемпотентности
-        String requestId = request.getRequestId() != null ? request.getRequestId() : UUID.randomUUID().toString();
-        
-        // Проверяем идемпотентность
-        Optional<Booking> existingBooking = bookingRepository.findByRequestId(requestId);
-        if (existingBooking.isPresent()) {
-            log.info("Бронирование с requestId {} уже существует (идемпотентность)", requestId);
-            return bookingMapper.toDto(existingBooking.get());
-        }
-        
-        // Автоподбор номера если включен
-        Long selectedRoomId = request.getRoomId();
-        Long hotelId = null;
-        
-        if (Boolean.TRUE.equals(request.getAutoSelect())) {
-            log.info("Автоподбор номера на основе алгоритма планирования занятости");
-            RoomDto selectedRoom = selectBestAvailableRoom(request);
-            if (selectedRoom == null) {
-                throw new RuntimeException("Нет доступных номеров для бронирования");
-            }
-            selectedRoomId = selectedRoom.getId();
-            hotelId = selectedRoom.getHotelId();
-            log.info("Автоматически выбран номер {} в отеле {} (times_booked={})", 
-                    selectedRoomId, hotelId, selectedRoom.getTimesBooked());
-        } else {
-            // При конкретном номере нужно получить hotelId из номера
-            // Для упрощения будем получать его при подтверждении доступности
-            if (selectedRoomId == null) {
-                throw new IllegalArgumentException("roomId обязателен при autoSelect=false");
-            }
-        }
-        
-        // Создаем бронирование в статусе PENDING
-        Booking booking = bookingMapper.toEntity(request);
-        booking.setUser(user);
-        booking.setRoomId(selectedRoomId);
-        if (hotelId != null) {
-            booking.setHotelId(hotelId);
-        }
-        booking.setRequestId(requestId);
-        booking.setStatus(Booking.BookingStatus.PENDING);
-        
-        // Сохраняем в локальной транзакции
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Бронирование создано в статусе PENDING с ID: {}, номер: {}", savedBooking.getId(), selectedRoomId);
-        
+        boolean autoSelect = Boolean.TRUE.equals(request.getAutoSelect());
+        Timer.Sample saga = sagaMetrics.start();
+        String sagaOutcome = "failed";
         try {
-            // Шаг 1: Подтверждение доступности номера в Hotel Service
-            RoomAvailabilityRequest availabilityRequest = RoomAvailabilityRequest.builder()
-                    .roomId(selectedRoomId)
-                    .startDate(request.getStartDate())
-                    .endDate(request.getEndDate())
-                    .requestId(requestId)
-                    .build();
+            // Генерируем requestId для идемпотентности
+            String requestId = request.getRequestId() != null ? request.getRequestId() : UUID.randomUUID().toString();
             
-            RoomAvailabilityResponse response = confirmRoomAvailabilityWithRetry(availabilityRequest);
+            // Проверяем идемпотентность
+            Timer.Sample idempotency = sagaMetrics.start();
+            Optional<Booking> existingBooking = bookingRepository.findByRequestId(requestId);
+            sagaMetrics.step(idempotency, Step.IDEMPOTENCY, existingBooking.isPresent() ? "duplicate" : "new", autoSelect);
+            if (existingBooking.isPresent()) {
+                log.info("Бронирование с requestId {} уже существует (идемпотентность)", requestId);
+                sagaOutcome = "duplicate";
+                return bookingMapper.toDto(existingBooking.get());
+            }
+            
+            // Автоподбор номера если включен
+            Long selectedRoomId = request.getRoomId();
+            Long hotelId = null;
             
-            if (response.isAvailable()) {
-                // Шаг 2: Подтверждение бронирования
-                // Обновляем hotelId если он был получен из ответа
-                if (savedBooking.getHotelId() == null && response.getHotelId() != null) {
-                    savedBooking.setHotelId(response.getHotelId());
+            if (autoSelect) {
+                log.info("Автоподбор номера на основе алгоритма планирования занятости");
+                RoomDto selectedRoom = sagaMetrics.record(Step.SELECT_ROOM, true, () -> selectBestAvailableRoom(request));
+                if (selectedRoom == null) {
+                    sagaOutcome = "no_rooms";
+                    throw new RuntimeException("Нет доступных номеров для бронирования");
                 }
-                savedBooking.setStatus(Booking.BookingStatus.CONFIRMED);
-                savedBooking = bookingRepository.save(savedBooking);
-                log.info("Бронирование {} успешно подтверждено", savedBooking.getId());
-                
-                return bookingMapper.toDto(savedBooking);
+                selectedRoomId = selectedRoom.getId();
+                hotelId = selectedRoom.getHotelId();
+                log.info("Автоматически выбран номер {} в отеле {} (times_booked={})", 
+                        selectedRoomId, hotelId, selectedRoom.getTimesBooked());
             } else {
-                // Компенсация: отменяем бронирование
-                savedBooking.setStatus(Booking.BookingStatus.CANCELLED);
-                bookingRepository.save(savedBooking);
-                log.warn("Бронирование {} отменено: {}", savedBooking.getId(), response.getMessage());
-                
-                throw new RuntimeException("Номер недоступен: " + response.getMessage());
+                // При конкретном номере нужно получить hotelId из номера
+                // Для упрощения будем получать его при подтверждении доступности
+                if (selectedRoomId == null) {
+                    sagaOutcome = "rejected";
+                    throw new IllegalArgumentException("roomId обязателен при autoSelect=false");
+                }
             }
             
-        } catch (Exception e) {
-            // Компенсация при ошибке
-            log.error("Ошибка при создании бронирования {}: {}", savedBooking.getId(), e.getMessage());
-            performCompensation(savedBooking, requestId);
-            throw new RuntimeException("Ошибка при создании бронирования: " + e.getMessage(), e);
+            // Стоимость берется из кэша расчетов (если номер уже оценивался при поиске) или у Hotel Service
+            Long roomId = selectedRoomId;
+            PriceQuoteDto quote = sagaMetrics.record(Step.QUOTE, autoSelect,
+                    () -> pricingService.quote(roomId, request.getStartDate(), request.getEndDate()));
+            
+            // Создаем бронирование в статусе PENDING
+            Booking booking = bookingMapper.toEntity(request);
+            booking.setUser(user);
+            booking.setRoomId(roomId);
+            booking.setHotelId(hotelId != null ? hotelId : quote.getHotelId());
+            booking.setTotalPrice(quote.getTotalPrice());
+            booking.setRequestId(requestId);
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            
+            // Сохраняем в локальной транзакции
+            Booking savedBooking = sagaMetrics.record(Step.SAVE_PENDING, autoSelect, () -> bookingRepository.save(booking));
+            log.info("Бронирование создано в статусе PENDING с ID: {}, номер: {}", savedBooking.getId(), roomId);
+            
+            try {
+                // Шаг 1: Подтверждение доступности номера в Hotel Service
+                RoomAvailabilityRequest availabilityRequest = RoomAvailabilityRequest.builder()
+                        .roomId(roomId)
+                        .startDate(request.getStartDate())
+                        .endDate(request.getEndDate())
+                        .requestId(requestId)
+                        .build();
+                
+                RoomAvailabilityResponse response = confirmRoomAvailabilityWithRetry(availabilityRequest, autoSelect);
+                
+                if (response.isAvailable()) {
+                    // Шаг 2: Подтверждение бронирования
+                    // Обновляем hotelId если он был получен из ответа
+                    if (savedBooking.getHotelId() == null && response.getHotelId() != null) {
+                        savedBooking.setHotelId(response.getHotelId());
+                    }
+                    savedBooking.setStatus(Booking.BookingStatus.CONFIRMED);
+                    Booking confirmedBooking = sagaMetrics.record(Step.SAVE_CONFIRMED, autoSelect,
+                            () -> bookingRepository.save(savedBooking));
+                    log.info("Бронирование {} успешно подтверждено", confirmedBooking.getId());
+                    
+                    sagaOutcome = "confirmed";
+                    return bookingMapper.toDto(confirmedBooking);
+                } else {
+                    // Компенсация: отменяем бронирование
+                    savedBooking.setStatus(Booking.BookingStatus.CANCELLED);
+                    bookingRepository.save(savedBooking);
+                    log.warn("Бронирование {} отменено: {}", savedBooking.getId(), response.getMessage());
+                    
+                    sagaOutcome = "unavailable";
+                    throw new RuntimeException("Номер недоступен: " + response.getMessage());
+                }
+                
+            } catch (Exception e) {
+                // Компенсация при ошибке
+                log.error("Ошибка при создании бронирования {}: {}", savedBooking.getId(), e.getMessage());
+                sagaMetrics.compensation("unavailable".equals(sagaOutcome) ? "unavailable" : "error", autoSelect);
+                performCompensation(savedBooking, requestId, autoSelect);
+                throw new RuntimeException("Ошибка при создании бронирования: " + e.getMessage(), e);
+            }
+        } finally {
+            sagaMetrics.saga(saga, sagaOutcome, autoSelect);
         }
     }
 
     /**
      * Автоматический подбор номера на основе алгоритма планирования занятости
-     * Выбирает номер с минимальным times_booked из доступных
+     * Выбирает номер с минимальным times_booked из доступных: Hotel Service фильтрует номера по вместимости
+     * и датам и сортирует по times_booked (при равенстве - по ID), поэтому достаточно первой записи выдачи,
+     * а не всего каталога, который отдается постранично
      */
     private RoomDto selectBestAvailableRoom(CreateBookingRequest request) {
         log.debug("Автоподбор номера для периода {} - {}", request.getStartDate(), request.getEndDate());
         
         try {
-            // Получаем все доступные номера (уже отсортированные по times_booked)
-            List<RoomDto> availableRooms = hotelServiceClient.getAllAvailableRooms();
+            List<RoomDto> availableRooms = hotelServiceClient.searchAvailableRooms(request.getGuestCount(),
+                    request.getStartDate(), request.getEndDate(), AUTO_SELECT_CANDIDATES, "timesBooked");
             
             if (availableRooms.isEmpty()) {
                 log.warn("Нет доступных номеров для автоподбора");
                 return null;
             }
             
-            // Фильтруем по вместимости если указана
-            if (request.getGuestCount() != null) {
-                availableRooms = availableRooms.stream()
-                        .filter(room -> room.getCapacity() >= request.getGuestCount())
-                        .toList();
-            }
-            
-            if (availableRooms.isEmpty()) {
+            Optional<RoomDto> selected = RoomRanking.selectLeastBooked(availableRooms, request.getGuestCount());
+            if (selected.isEmpty()) {
                 log.warn("Нет доступных номеров с вместимостью >= {}", request.getGuestCount());
                 return null;
             }
             
-            // Выбираем первый номер (они уже отсортированы по times_booked ASC, id ASC)
-            RoomDto selectedRoom = availableRooms.get(0);
+            RoomDto selectedRoom = selected.get();
             log.info("Выбран номер {} (times_booked={}, capacity={})", 
                     selectedRoom.getId(), selectedRoom.getTimesBooked(), selectedRoom.getCapacity());
             
@@ -170,7 +196,7 @@ public class BookingService {
     /**
      * Подтверждение доступности номера с повторными попытками
      */
-    private RoomAvailabilityResponse confirmRoomAvailabilityWithRetry(RoomAvailabilityRequest request) {
+    private RoomAvailabilityResponse confirmRoomAvailabilityWithRetry(RoomAvailabilityRequest request, boolean autoSelect) {
         log.debug("Попытка подтверждения доступности номера {} с requestId {}",
                 request.getRoomId(), request.getRequestId());
 
@@ -180,11 +206,17 @@ public class BookingService {
 
         while (true) {
             attempt++;
+            Timer.Sample sample = sagaMetrics.start();
             try {
-                return hotelServiceClient.confirmRoomAvailability(request.getRoomId(), request);
+                RoomAvailabilityResponse response = hotelServiceClient.confirmRoomAvailability(request.getRoomId(), request);
+                sagaMetrics.step(sample, Step.CONFIRM_AVAILABILITY, response.isAvailable() ? "success" : "unavailable",
+                        autoSelect, attempt);
+                return response;
             } catch (Exception e) {
+                sagaMetrics.step(sample, Step.CONFIRM_AVAILABILITY, "failure", autoSelect, attempt);
                 log.warn("Попытка {}: ошибка при подтверждении доступности номера {}: {}", attempt, request.getRoomId(), e.getMessage());
                 if (attempt >= maxAttempts) {
+                    sagaMetrics.retriesExhausted(Step.CONFIRM_AVAILABILITY);
                     throw e;
                 }
                 try {
@@ -200,14 +232,17 @@ public class BookingService {
     /**
      * Выполнение компенсации
      */
-    private void performCompensation(Booking booking, String requestId) {
+    private void performCompensation(Booking booking, String requestId, boolean autoSelect) {
         log.info("Выполнение компенсации для бронирования {} с requestId {}", booking.getId(), requestId);
         
+        Timer.Sample sample = sagaMetrics.start();
         try {
             // Освобождаем блокировку в Hotel Service
             hotelServiceClient.releaseRoomBlock(booking.getRoomId(), requestId);
+            sagaMetrics.step(sample, Step.COMPENSATION, "success", autoSelect);
             log.info("Блокировка номера {} успешно снята", booking.getRoomId());
         } catch (Exception e) {
+            sagaMetrics.step(sample, Step.COMPENSATION, "failure", autoSelect);
             log.error("Ошибка при снятии блокировки номера {}: {}", booking.getRoomId(), e.getMessage());
         }
     }
@@ -288,27 +323,6 @@ public class BookingService {
         return bookingMapper.toDtoList(bookings);
     }
 
-    /**
-     * Очистка старых бронирований в статусе PENDING
-     */
-    @Transactional
-    public void cleanupOldPendingBookings() {
-        log.info("Очистка старых бронирований в статусе PENDING");
-        
-        LocalDateTime cutoffDate = LocalDateTime.now().minusHours(1); // Старше 1 часа
-        List<Booking> oldBookings = bookingRepository.findOldPendingBookings(cutoffDate);
-        
-        for (Booking booking : oldBookings) {
-            booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
-            
-            // Выполняем компенсацию
-            performCompensation(booking, booking.getRequestId());
-        }
-        
-        log.info("Очищено {} старых бронирований", oldBookings.size());
-    }
-
     /**
      * Проверка конфликта дат для номера
      */
@@ -0,0 +1,80 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.entity.SchedulerLease;
+import com.example.bookingsystem.bookingservice.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Аренды фоновых задач в общей базе
+ * Позволяет запускать планировщик на нескольких экземплярах: задачу выполняет тот, кто захватил аренду.
+ * Если экземпляр упал, аренда истекает сама и задачу подхватывает другой
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Захват аренды на указанное время
+     *
+     * @return true, если аренда принадлежит текущему экземпляру
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(duration);
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.tryAcquire(name, owner, now, lockedUntil));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        try {
+            // Первый запуск: строки аренды еще нет, вставку выигрывает один экземпляр
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (leaseRepository.existsById(name)) {
+                    return false;
+                }
+                leaseRepository.saveAndFlush(SchedulerLease.builder()
+                        .name(name)
+                        .owner(owner)
+                        .lockedUntil(lockedUntil)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Аренда {} захвачена другим экземпляром", name);
+            return false;
+        }
+    }
+
+    /**
+     * Продление собственной аренды во время длинной задачи
+     *
+     * @return false, если аренду уже перехватил другой экземпляр
+     */
+    public boolean renew(String name, Duration duration) {
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(duration);
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.renew(name, owner, lockedUntil));
+        return updated != null && updated > 0;
+    }
+
+    /**
+     * Освобождение аренды после завершения задачи
+     */
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                leaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.PriceQuoteDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Стоимость проживания для бронирований
+ * Расчет выполняет Hotel Service (владелец тарифов), здесь расчеты кэшируются по (номер, даты)
+ * на короткое время: цена, показанная в поиске, используется при бронировании без повторного запроса.
+ * Пакетный расчет запрашивает у Hotel Service только отсутствующие в кэше номера
+ */
+@Service
+@Slf4j
+public class PricingService {
+
+    /**
+     * Наибольшее количество номеров в одном пакетном расчете (страница результатов поиска)
+     */
+    public static final int MAX_QUOTE_ROOMS = 200;
+
+    /**
+     * Ограничение Hotel Service на количество номеров в одном пакетном расчете
+     */
+    private static final int HOTEL_BATCH_SIZE = 500;
+
+    private final HotelServiceClient hotelServiceClient;
+    private final Cache<QuoteKey, PriceQuoteDto> quotes;
+
+    public PricingService(HotelServiceClient hotelServiceClient,
+                          MeterRegistry meterRegistry,
+                          @Value("${booking.pricing.quote-ttl:2m}") Duration quoteTtl,
+                          @Value("${booking.pricing.quote-cache-size:100000}") long quoteCacheSize) {
+        this.hotelServiceClient = hotelServiceClient;
+        this.quotes = Caffeine.newBuilder()
+                .expireAfterWrite(quoteTtl)
+                .maximumSize(quoteCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "booking-quotes");
+    }
+
+    /**
+     * Стоимость проживания в номере
+     */
+    public PriceQuoteDto quote(Long roomId, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return quotes.get(new QuoteKey(roomId, startDate, endDate), key -> {
+            log.debug("Запрос стоимости номера {} на период {} - {}", roomId, startDate, endDate);
+            try {
+                return hotelServiceClient.getQuote(roomId, startDate, endDate);
+            } catch (FeignException.NotFound e) {
+                throw new IllegalArgumentException("Номер с ID " + roomId + " не найден");
+            }
+        });
+    }
+
+    /**
+     * Стоимость проживания в нескольких номерах на одни даты; неизвестные номера пропускаются
+     */
+    public List<PriceQuoteDto> quote(Collection<Long> roomIds, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        if (roomIds.size() > MAX_QUOTE_ROOMS) {
+            throw new IllegalArgumentException("Не более " + MAX_QUOTE_ROOMS + " номеров в одном расчете");
+        }
+        Set<QuoteKey> keys = new LinkedHashSet<>();
+        roomIds.forEach(roomId -> keys.add(new QuoteKey(roomId, startDate, endDate)));
+
+        Map<QuoteKey, PriceQuoteDto> found = quotes.getAll(keys, missing -> fetch(missing, startDate, endDate));
+        return new ArrayList<>(found.values());
+    }
+
+    private Map<QuoteKey, PriceQuoteDto> fetch(Set<? extends QuoteKey> missing, LocalDate startDate, LocalDate endDate) {
+        log.debug("Запрос стоимости {} номеров на период {} - {}", missing.size(), startDate, endDate);
+        List<Long> roomIds = missing.stream().map(QuoteKey::roomId).toList();
+        Map<QuoteKey, PriceQuoteDto> result = new HashMap<>();
+        for (int from = 0; from < roomIds.size(); from += HOTEL_BATCH_SIZE) {
+            List<Long> batch = roomIds.subList(from, Math.min(from + HOTEL_BATCH_SIZE, roomIds.size()));
+            hotelServiceClient.getQuotes(batch, startDate, endDate).forEach(quote ->
+                    result.put(new QuoteKey(quote.getRoomId(), startDate, endDate), quote));
+        }
+        return result;
+    }
+
+    private static void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Дата окончания должна быть позже даты начала");
+        }
+    }
+
+    private record QuoteKey(Long roomId, LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.entity.RefreshToken;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Сервис refresh токенов
+ * Токен непрозрачный, в базе хранится его SHA-256 хэш. Обмен токена - один поиск по уникальному индексу
+ * без BCrypt; при каждом обмене токен ротируется, а повторное использование отозванного токена
+ * отзывает все токены пользователя. Отзыв при обмене - условный UPDATE: из одновременных обменов
+ * одного токена новую пару получает только один, остальные считаются повторным использованием
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Выпуск нового refresh токена для пользователя
+     */
+    @Transactional
+    public IssuedToken issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), now);
+
+        String rawToken = generateRawToken();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .expiresAt(now.plusNanos(refreshExpirationMs * 1_000_000L))
+                .build();
+        refreshTokenRepository.save(refreshToken);
+
+        return new IssuedToken(rawToken, getRefreshExpiresInSeconds());
+    }
+
+    /**
+     * Обмен refresh токена: старый токен отзывается, выпускается новый
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (found.isEmpty()) {
+            log.debug("Refresh токен не найден");
+            return Optional.empty();
+        }
+
+        RefreshToken refreshToken = found.get();
+        User user = refreshToken.getUser();
+
+        if (refreshToken.getRevoked()) {
+            return reuseDetected(user);
+        }
+        if (!refreshToken.isActive(LocalDateTime.now())) {
+            log.debug("Refresh токен пользователя {} истек", user.getId());
+            return Optional.empty();
+        }
+        // Токен прочитан неотозванным, но его мог одновременно обменять другой запрос
+        if (refreshTokenRepository.revokeIfActive(refreshToken.getId()) != 1) {
+            return reuseDetected(user);
+        }
+
+        return Optional.of(new Rotation(user, issue(user)));
+    }
+
+    /**
+     * Повторное использование уже обмененного токена - признак утечки: отзываются все токены пользователя
+     */
+    private Optional<Rotation> reuseDetected(User user) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(user.getId());
+        log.warn("Повторное использование refresh токена пользователя {}, отозвано {} токенов",
+                user.getId(), revoked);
+        return Optional.empty();
+    }
+
+    /**
+     * Отзыв refresh токена (выход из системы)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(refreshToken -> {
+                    refreshToken.setRevoked(true);
+                    refreshTokenRepository.save(refreshToken);
+                });
+    }
+
+    /**
+     * Время жизни refresh токена в секундах
+     */
+    public long getRefreshExpiresInSeconds() {
+        return refreshExpirationMs / 1000;
+    }
+
+    private String generateRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Выпущенный refresh токен (значение передается клиенту один раз)
+     */
+    public record IssuedToken(String token, long expiresInSeconds) {
+    }
+
+    /**
+     * Результат обмена refresh токена
+     */
+    public record Rotation(User user, IssuedToken refreshToken) {
+    }
+}
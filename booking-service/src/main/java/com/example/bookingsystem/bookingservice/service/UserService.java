@@ -4,16 +4,19 @@ import com.example.bookingsystem.bookingservice.dto.UserAuthRequest;
 import com.example.bookingsystem.bookingservice.dto.UserDto;
 import com.example.bookingsystem.bookingservice.dto.UserRegistrationRequest;
 import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.RefreshTokenRepository;
 import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import com.example.bookingsystem.bookingservice.security.PasswordHasher;
 import com.example.bookingsystem.bookingservice.util.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Сервис для работы с пользователями
@@ -25,14 +28,17 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordHasher passwordHasher;
     private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Регистрация нового пользователя
+     * Проверки уникальности выполняются в потоке запроса, хэширование - в пуле хэширования,
+     * сохранение - в исполнителе продолжений, чтобы не занимать потоки BCrypt на время обращения к БД
      */
-    @Transactional
-    public UserDto registerUser(UserRegistrationRequest request) {
+    public CompletableFuture<User> registerUser(UserRegistrationRequest request) {
         log.info("Регистрация нового пользователя: {}", request.getUsername());
         
         // Проверяем, что пользователь с таким именем не существует
@@ -46,22 +52,58 @@ public class UserService {
         }
         
         User user = userMapper.toEntity(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        
-        User savedUser = userRepository.save(user);
-        log.info("Пользователь успешно зарегистрирован с ID: {}", savedUser.getId());
         
-        return userMapper.toDto(savedUser);
+        return passwordHasher.encode(request.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    User savedUser = userRepository.save(user);
+                    log.info("Пользователь успешно зарегистрирован с ID: {}", savedUser.getId());
+                    return savedUser;
+                }, passwordHasher.callbackExecutor());
     }
 
     /**
      * Аутентификация пользователя
+     * Проверка пароля выполняется в пуле хэширования, поток запроса не блокируется.
+     * Для неизвестного имени пароль сверяется с фиктивным хэшем, чтобы время ответа не выдавало наличие пользователя
      */
-    public Optional<User> authenticateUser(UserAuthRequest request) {
+    public CompletableFuture<Optional<User>> authenticateUser(UserAuthRequest request) {
         log.debug("Аутентификация пользователя: {}", request.getUsername());
         
-        return userRepository.findByUsername(request.getUsername())
-                .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPassword()));
+        Optional<User> candidate = userRepository.findByUsername(request.getUsername());
+        if (candidate.isEmpty()) {
+            return passwordHasher.matchesDummy(request.getPassword())
+                    .thenApplyAsync(matches -> Optional.empty(), passwordHasher.callbackExecutor());
+        }
+        
+        User user = candidate.get();
+        return passwordHasher.matches(request.getPassword(), user.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        return Optional.empty();
+                    }
+                    if (passwordHasher.needsRehash(user.getPassword())) {
+                        rehashPassword(user, request.getPassword());
+                    }
+                    return Optional.of(user);
+                }, passwordHasher.callbackExecutor());
+    }
+
+    /**
+     * Фоновое перехэширование пароля после смены стоимости BCrypt
+     * Выполняется после успешного входа и не задерживает ответ
+     */
+    private void rehashPassword(User user, String rawPassword) {
+        passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(encodedPassword -> {
+                    userRepository.updatePassword(user.getId(), encodedPassword);
+                    passwordHasher.recordRehash();
+                    log.info("Пароль пользователя {} перехэширован с текущей стоимостью", user.getId());
+                }, passwordHasher.callbackExecutor())
+                .exceptionally(e -> {
+                    log.warn("Не удалось перехэшировать пароль пользователя {}: {}", user.getId(), e.getMessage());
+                    return null;
+                });
     }
 
     /**
@@ -92,11 +134,21 @@ public class UserService {
 
     /**
      * Обновление пользователя
+     * Новый пароль хэшируется в пуле хэширования, изменения сохраняются в исполнителе продолжений
      */
-    @Transactional
-    public Optional<UserDto> updateUser(Long id, UserRegistrationRequest request) {
+    public CompletableFuture<Optional<UserDto>> updateUser(Long id, UserRegistrationRequest request) {
         log.info("Обновление пользователя с ID: {}", id);
         
+        CompletableFuture<String> encodedPassword = request.getPassword() != null
+                ? passwordHasher.encode(request.getPassword())
+                : CompletableFuture.completedFuture(null);
+        
+        return encodedPassword.thenApplyAsync(
+                password -> transactionTemplate.execute(status -> applyUpdate(id, request, password)),
+                passwordHasher.callbackExecutor());
+    }
+
+    private Optional<UserDto> applyUpdate(Long id, UserRegistrationRequest request, String encodedPassword) {
         return userRepository.findById(id)
                 .map(user -> {
                     if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
@@ -115,8 +167,8 @@ public class UserService {
                     if (request.getPhoneNumber() != null) {
                         user.setPhoneNumber(request.getPhoneNumber());
                     }
-                    if (request.getPassword() != null) {
-                        user.setPassword(passwordEncoder.encode(request.getPassword()));
+                    if (encodedPassword != null) {
+                        user.setPassword(encodedPassword);
                     }
                     
                     User updatedUser = userRepository.save(user);
@@ -133,6 +185,7 @@ public class UserService {
         log.info("Удаление пользователя с ID: {}", id);
         
         if (userRepository.existsById(id)) {
+            refreshTokenRepository.deleteAllByUserId(id);
             userRepository.deleteById(id);
             log.info("Пользователь с ID {} успешно удален", id);
             return true;
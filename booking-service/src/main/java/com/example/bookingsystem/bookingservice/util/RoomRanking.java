@@ -0,0 +1,48 @@
+package com.example.bookingsystem.bookingservice.util;
+
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ранжирование номеров для автоподбора (алгоритм планирования занятости)
+ * Выбирается номер с минимальным times_booked, при равенстве - с меньшим ID. Выбор выполняется одним
+ * проходом по списку и не зависит от порядка, в котором Hotel Service вернул номера
+ */
+public final class RoomRanking {
+
+    /** Номер без ID (неполный ответ) проигрывает при равной загрузке и не вызывает NPE */
+    private static final Comparator<Long> BY_ID = Comparator.nullsLast(Long::compare);
+
+    private RoomRanking() {
+    }
+
+    /**
+     * Наименее загруженный номер, вмещающий указанное число гостей
+     *
+     * @param guestCount число гостей или null, если вместимость не важна
+     */
+    public static Optional<RoomDto> selectLeastBooked(List<RoomDto> rooms, Integer guestCount) {
+        RoomDto best = null;
+        for (RoomDto room : rooms) {
+            if (guestCount != null && (room.getCapacity() == null || room.getCapacity() < guestCount)) {
+                continue;
+            }
+            if (best == null || isLessBooked(room, best)) {
+                best = room;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static boolean isLessBooked(RoomDto candidate, RoomDto best) {
+        int byTimesBooked = Integer.compare(timesBooked(candidate), timesBooked(best));
+        return byTimesBooked < 0 || byTimesBooked == 0 && BY_ID.compare(candidate.getId(), best.getId()) < 0;
+    }
+
+    private static int timesBooked(RoomDto room) {
+        return room.getTimesBooked() != null ? room.getTimesBooked() : 0;
+    }
+}
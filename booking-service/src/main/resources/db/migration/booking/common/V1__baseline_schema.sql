@@ -0,0 +1,36 @@
+-- Исходная схема Booking Service: таблицы users и bookings, которые раньше создавал hibernate ddl-auto
+
+CREATE TABLE users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username     VARCHAR(50)  NOT NULL,
+    password     VARCHAR(100) NOT NULL,
+    role         VARCHAR(20)  NOT NULL,
+    email        VARCHAR(100),
+    first_name   VARCHAR(50),
+    last_name    VARCHAR(50),
+    phone_number VARCHAR(20),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uq_users_username UNIQUE (username),
+    CONSTRAINT ck_users_role CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE bookings (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id          BIGINT         NOT NULL,
+    room_id          BIGINT         NOT NULL,
+    hotel_id         BIGINT         NOT NULL,
+    start_date       DATE           NOT NULL,
+    end_date         DATE           NOT NULL,
+    status           VARCHAR(20)    NOT NULL,
+    total_price      NUMERIC(10, 2),
+    guest_count      INTEGER        NOT NULL,
+    special_requests VARCHAR(1000),
+    request_id       VARCHAR(100),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_bookings PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT ck_bookings_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED'))
+);
@@ -0,0 +1,16 @@
+-- Индексы под запросы репозиториев и ограничения целостности бронирований
+
+-- История бронирований пользователя (findByUserIdOrderByCreatedAtDesc), внешний ключ на users
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at);
+
+-- Пересечения дат по номеру (findConflictingBookings, findByRoomIdAndStatusIn)
+CREATE INDEX idx_bookings_room_dates ON bookings (room_id, start_date, end_date);
+
+-- Бронирования отеля (findByHotelIdAndStatusIn)
+CREATE INDEX idx_bookings_hotel ON bookings (hotel_id);
+
+-- Идемпотентность: один requestId - одно бронирование, в том числе при одновременных повторах
+ALTER TABLE bookings ADD CONSTRAINT uq_bookings_request_id UNIQUE (request_id);
+
+ALTER TABLE bookings ADD CONSTRAINT ck_bookings_dates CHECK (end_date > start_date);
+ALTER TABLE bookings ADD CONSTRAINT ck_bookings_guest_count CHECK (guest_count > 0);
@@ -0,0 +1,3 @@
+-- Стоимость бронирования хранится как NUMERIC(10, 2) (BigDecimal в сущности); база, созданная hibernate ddl-auto,
+-- содержит столбец с плавающей точкой. Для новой базы изменение типа ничего не меняет
+ALTER TABLE bookings ALTER COLUMN total_price SET DATA TYPE NUMERIC(10, 2);
@@ -0,0 +1,23 @@
+-- Таблицы, появившиеся после исходной схемы: refresh токены и аренды фоновых задач.
+-- IF NOT EXISTS: база, обновлявшаяся hibernate ddl-auto, может уже содержать эти таблицы
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id    BIGINT       NOT NULL,
+    token_hash VARCHAR(64)  NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uq_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name         VARCHAR(100) NOT NULL,
+    owner        VARCHAR(100) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_scheduler_leases PRIMARY KEY (name)
+);
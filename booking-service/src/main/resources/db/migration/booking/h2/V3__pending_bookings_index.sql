@@ -0,0 +1,3 @@
+-- H2 не поддерживает частичные индексы: для PENDING используется общий индекс по статусу
+-- (в PostgreSQL - частичный индекс idx_bookings_pending_created)
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
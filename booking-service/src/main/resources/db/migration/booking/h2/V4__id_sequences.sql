@@ -0,0 +1,8 @@
+-- Последовательности идентификаторов (pooled, шаг 50 = allocationSize): Hibernate выделяет идентификаторы блоками
+-- и объединяет вставки в JDBC пакеты. Для существующих строк последовательность сдвигается за MAX(id)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id) + 51, 1) FROM users);
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id) + 51, 1) FROM bookings);
@@ -0,0 +1,4 @@
+-- Частичный индекс только по бронированиям в PENDING: очистка зависших бронирований (findStaleBookings,
+-- cancelStaleBookings) и список PENDING для администратора читают небольшую долю таблицы,
+-- подтвержденные и отмененные бронирования в индекс не попадают
+CREATE INDEX idx_bookings_pending_created ON bookings (created_at, id) WHERE status = 'PENDING';
@@ -0,0 +1,8 @@
+-- Последовательности идентификаторов (pooled, шаг 50 = allocationSize): Hibernate выделяет идентификаторы блоками
+-- и объединяет вставки в JDBC пакеты. Для существующих строк последовательность сдвигается за MAX(id)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id) + 50, 1), MAX(id) IS NOT NULL) FROM users;
+SELECT setval('bookings_seq', COALESCE(MAX(id) + 50, 1), MAX(id) IS NOT NULL) FROM bookings;
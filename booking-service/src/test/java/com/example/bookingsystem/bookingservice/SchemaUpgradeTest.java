@@ -0,0 +1,81 @@
+package com.example.bookingsystem.bookingservice;
+
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.RefreshTokenRepository;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Обновление базы, созданной hibernate ddl-auto до перехода на Flyway:
+ * база принимается за версию 1, остальные миграции применяются поверх, hibernate validate проходит
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:legacy_bookingdb;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class SchemaUpgradeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacySchema_ShouldBeBaselinedAndMigrated() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+        assertThat(flyway.info().pending()).isEmpty();
+
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT total_price FROM bookings WHERE id = 7", BigDecimal.class))
+                .isEqualByComparingTo("150.50");
+    }
+
+    @Test
+    void newUser_ShouldGetIdAfterLegacyRows() {
+        User user = userRepository.save(User.builder()
+                .username("after-upgrade")
+                .password("hash")
+                .role(User.UserRole.USER)
+                .build());
+
+        assertThat(user.getId()).isGreaterThan(3L);
+    }
+
+    @TestConfiguration
+    static class LegacySchemaConfig {
+
+        /**
+         * Перед миграцией создается схема в том виде, в каком ее оставлял hibernate ddl-auto
+         */
+        @Bean
+        FlywayMigrationStrategy legacySchemaFirst(DataSource dataSource) {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/legacy/booking_ddl_auto.sql")).execute(dataSource);
+                flyway.migrate();
+            };
+        }
+    }
+}
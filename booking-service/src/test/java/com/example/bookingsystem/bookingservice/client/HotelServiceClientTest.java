@@ -0,0 +1,106 @@
+package com.example.bookingsystem.bookingservice.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Кодирование параметров запросов Feign клиента Hotel Service (настоящий клиент из контекста и HTTP заглушка)
+ */
+@SpringBootTest(properties = "security.gateway.internal-token=test-gateway-token")
+@ActiveProfiles("test")
+class HotelServiceClientTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 10);
+    private static final LocalDate END = LocalDate.of(2030, 1, 13);
+
+    private static final AtomicReference<URI> lastRequest = new AtomicReference<>();
+    private static final AtomicReference<Headers> lastHeaders = new AtomicReference<>();
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private HotelServiceClient hotelServiceClient;
+
+    @DynamicPropertySource
+    static void hotelServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.hotel-service.url",
+                () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        lastRequest.set(null);
+        lastHeaders.set(null);
+    }
+
+    @Test
+    void getQuote_ShouldSendIsoDates() {
+        hotelServiceClient.getQuote(7L, START, END);
+
+        assertThat(lastRequest.get().getPath()).isEqualTo("/api/rooms/7/quote");
+        assertThat(lastRequest.get().getQuery()).isEqualTo("startDate=2030-01-10&endDate=2030-01-13");
+    }
+
+    @Test
+    void getQuotes_ShouldRepeatRoomIdsAndSendIsoDates() {
+        hotelServiceClient.getQuotes(List.of(1L, 2L), START, END);
+
+        assertThat(lastRequest.get().getPath()).isEqualTo("/api/rooms/quotes");
+        assertThat(lastRequest.get().getQuery())
+                .isEqualTo("roomIds=1&roomIds=2&startDate=2030-01-10&endDate=2030-01-13");
+    }
+
+    @Test
+    void releaseRoomBlocks_ShouldAuthenticateAsService() {
+        hotelServiceClient.releaseRoomBlocks(List.of("request-1"));
+
+        assertThat(lastRequest.get().getPath()).isEqualTo("/api/rooms/release");
+        assertThat(lastHeaders.get().getFirst("X-Gateway-Token")).isEqualTo("test-gateway-token");
+        assertThat(lastHeaders.get().getFirst("X-User-Role")).isEqualTo("SERVICE");
+        assertThat(lastHeaders.get().getFirst("X-User-Name")).isNotBlank();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/", exchange -> {
+                lastRequest.set(exchange.getRequestURI());
+                lastHeaders.set(exchange.getRequestHeaders());
+                String body = exchange.getRequestURI().getPath().endsWith("/quotes") ? "[]" : "{}";
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(bytes);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
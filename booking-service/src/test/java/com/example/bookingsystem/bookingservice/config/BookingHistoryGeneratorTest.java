@@ -0,0 +1,147 @@
+package com.example.bookingsystem.bookingservice.config;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты генератора истории бронирований
+ */
+@SpringBootTest(properties = {
+        // Отдельная база: сгенерированная история не влияет на другие тесты
+        "spring.datasource.url=jdbc:h2:mem:generatortest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "booking.generator.enabled=true",
+        "booking.generator.bookings=3000",
+        "booking.generator.users=40",
+        "booking.generator.history-days=120",
+        "booking.generator.chunk-size=500"
+})
+@ActiveProfiles("test")
+class BookingHistoryGeneratorTest {
+
+    @Autowired
+    private BookingHistoryGenerator generator;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Без сброса между тестами: вызов при старте контекста проверяется независимо от порядка тестов
+    @MockBean(reset = MockReset.NONE)
+    private HotelServiceClient hotelServiceClient;
+
+    /**
+     * Hotel Service недоступен при старте контекста: заглушка настраивается до запуска генератора
+     * и завершает запрос каталога явной ошибкой
+     */
+    @TestConfiguration
+    static class UnavailableHotelService {
+
+        @Bean
+        InitializingBean hotelServiceUnavailable(HotelServiceClient hotelServiceClient) {
+            return () -> when(hotelServiceClient.getAvailableRoomsPage(any(), anyInt(), any()))
+                    .thenThrow(new IllegalStateException("Hotel Service недоступен"));
+        }
+    }
+
+    @Test
+    void generatesHistoryWithoutOverbooking() {
+        // При старте контекста каталог недоступен: генерация пропущена без ошибки запуска
+        verify(hotelServiceClient).getAvailableRoomsPage(isNull(), anyInt(), eq("id"));
+        assertThat(bookingRepository.count()).isZero();
+
+        // Пользователь от прерванного запуска сохраняется и получает бронирования
+        User leftover = userRepository.save(User.builder()
+                .username("guest1")
+                .password("hash")
+                .role(User.UserRole.USER)
+                .build());
+        doReturn(ResponseEntity.ok().header("X-Next-Cursor", "next").body(rooms(1, 20)))
+                .when(hotelServiceClient).getAvailableRoomsPage(isNull(), anyInt(), eq("id"));
+        doReturn(ResponseEntity.ok(rooms(21, 40)))
+                .when(hotelServiceClient).getAvailableRoomsPage(eq("next"), anyInt(), eq("id"));
+
+        generator.run();
+
+        assertThat(bookingRepository.count()).isEqualTo(3000);
+        assertThat(userRepository.findByUsername("guest40")).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE 'guest%'", Long.class))
+                .isEqualTo(40);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE user_id = ?", Long.class,
+                leftover.getId())).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT room_id) FROM bookings", Long.class))
+                .isEqualTo(40);
+        // Подтвержденные бронирования одного номера не пересекаются
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM bookings a
+                JOIN bookings b ON a.room_id = b.room_id AND a.id < b.id
+                    AND a.start_date < b.end_date AND b.start_date < a.end_date
+                WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+                """, Long.class)).isZero();
+        // История: бронирование создано до заезда, проживание - в пределах history-days до сегодняшнего дня
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE created_at > start_date + 1 OR created_at > CURRENT_TIMESTAMP",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(start_date) FROM bookings", LocalDate.class))
+                .isAfterOrEqualTo(LocalDate.now().minusDays(120));
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(end_date) FROM bookings", LocalDate.class))
+                .isBeforeOrEqualTo(LocalDate.now());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE total_price <> 1000 * DATEDIFF('DAY', start_date, end_date)",
+                Long.class)).isZero();
+        assertThat(bookingRepository.findByStatusOrderByCreatedAtDesc(Booking.BookingStatus.PENDING)).isEmpty();
+    }
+
+    @Test
+    void weightsSummerAndNewYearAboveOffSeason() {
+        double offSeason = BookingHistoryGenerator.seasonalWeight(LocalDate.of(2025, 3, 12));
+        assertThat(BookingHistoryGenerator.seasonalWeight(LocalDate.of(2025, 7, 23))).isGreaterThan(offSeason * 1.5);
+        assertThat(BookingHistoryGenerator.seasonalWeight(LocalDate.of(2025, 12, 31))).isGreaterThan(offSeason * 1.5);
+    }
+
+    private static List<RoomDto> rooms(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> RoomDto.builder()
+                        .id(id)
+                        .hotelId(1 + id % 4)
+                        .capacity(2)
+                        .pricePerNight(new BigDecimal("1000.00"))
+                        // Первые номера популярнее остальных
+                        .timesBooked(id <= 5 ? 50 : 2)
+                        .build())
+                .toList();
+    }
+}
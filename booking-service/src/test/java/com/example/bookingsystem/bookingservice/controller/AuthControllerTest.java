@@ -1,24 +1,35 @@
 package com.example.bookingsystem.bookingservice.controller;
 
 
+import com.example.bookingsystem.bookingservice.config.SecurityConfig;
+import com.example.bookingsystem.bookingservice.dto.RefreshTokenRequest;
 import com.example.bookingsystem.bookingservice.dto.UserAuthRequest;
 import com.example.bookingsystem.bookingservice.dto.UserDto;
 import com.example.bookingsystem.bookingservice.dto.UserRegistrationRequest;
 import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.security.JwtUtil;
+import com.example.bookingsystem.bookingservice.service.RefreshTokenService;
 import com.example.bookingsystem.bookingservice.service.UserService;
+import com.example.bookingsystem.bookingservice.util.UserMapperImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +37,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Тесты для AuthController
  */
 @WebMvcTest(AuthController.class)
+@Import({SecurityConfig.class, JwtUtil.class, UserMapperImpl.class})
+@ActiveProfiles("test")
 class AuthControllerTest {
 
     @Autowired
@@ -34,6 +47,9 @@ class AuthControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -77,18 +93,26 @@ class AuthControllerTest {
                 .username("test_user")
                 .password("password123")
                 .build();
+
+        when(refreshTokenService.issue(any(User.class)))
+                .thenReturn(new RefreshTokenService.IssuedToken("refresh-token", 86400L));
     }
 
     @Test
     void registerUser_ShouldReturnAuthResponse() throws Exception {
         // Given
-        when(userService.registerUser(any(UserRegistrationRequest.class))).thenReturn(userDto);
-        when(userService.getUserByUsername("test_user")).thenReturn(java.util.Optional.of(testUser));
+        when(userService.registerUser(any(UserRegistrationRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(testUser));
 
-        // When & Then
-        mockMvc.perform(post("/user/register")
+        // When
+        MvcResult result = mockMvc.perform(post("/user/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registrationRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.user.username").value("test_user"))
                 .andExpect(jsonPath("$.user.email").value("test@example.com"))
@@ -99,30 +123,92 @@ class AuthControllerTest {
     @Test
     void authenticateUser_WithValidCredentials_ShouldReturnAuthResponse() throws Exception {
         // Given
-        when(userService.authenticateUser(any(UserAuthRequest.class))).thenReturn(java.util.Optional.of(testUser));
+        when(userService.authenticateUser(any(UserAuthRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(java.util.Optional.of(testUser)));
 
-        // When & Then
-        mockMvc.perform(post("/user/auth")
+        // When
+        MvcResult result = mockMvc.perform(post("/user/auth")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.user.username").value("test_user"))
                 .andExpect(jsonPath("$.tokenType").value("Bearer"))
-                .andExpect(jsonPath("$.token").exists());
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.expiresIn").value(3600))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"));
     }
 
     @Test
-    void authenticateUser_WithInvalidCredentials_ShouldReturnError() throws Exception {
+    void refreshToken_WithValidToken_ShouldReturnRotatedTokens() throws Exception {
+        // Given
+        when(refreshTokenService.rotate("refresh-token")).thenReturn(java.util.Optional.of(
+                new RefreshTokenService.Rotation(testUser,
+                        new RefreshTokenService.IssuedToken("rotated-token", 86400L))));
+
+        // When & Then
+        mockMvc.perform(post("/user/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").value("rotated-token"))
+                .andExpect(jsonPath("$.user.username").value("test_user"));
+    }
+
+    @Test
+    void refreshToken_WithUnknownToken_ShouldReturnUnauthorized() throws Exception {
         // Given
-        when(userService.authenticateUser(any(UserAuthRequest.class))).thenReturn(java.util.Optional.empty());
+        when(refreshTokenService.rotate(any(String.class))).thenReturn(java.util.Optional.empty());
 
         // When & Then
-        mockMvc.perform(post("/user/auth")
+        mockMvc.perform(post("/user/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("unknown"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void authenticateUser_WithInvalidCredentials_ShouldReturnError() throws Exception {
+        // Given
+        when(userService.authenticateUser(any(UserAuthRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(java.util.Optional.empty()));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/user/auth")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void authenticateUser_WhenHashingPoolSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(userService.authenticateUser(any(UserAuthRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("queue full")));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/user/auth")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void registerUser_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         // Given
@@ -0,0 +1,143 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.SchedulerLease;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import com.example.bookingsystem.bookingservice.repository.SchedulerLeaseRepository;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для BookingCleanupService
+ */
+@SpringBootTest(properties = "booking.cleanup.chunk-size=2")
+@ActiveProfiles("test")
+class BookingCleanupServiceTest {
+
+    @Autowired
+    private BookingCleanupService bookingCleanupService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("cleanup-user")
+                .password("hash")
+                .role(User.UserRole.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        userRepository.delete(user);
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    void cleanup_ShouldCancelStalePendingBookingsInChunks() {
+        for (int i = 0; i < 5; i++) {
+            createBooking(Booking.BookingStatus.PENDING, "stale-" + i, true);
+        }
+        Booking fresh = createBooking(Booking.BookingStatus.PENDING, "fresh", false);
+        Booking confirmed = createBooking(Booking.BookingStatus.CONFIRMED, "confirmed", true);
+
+        int cancelled = bookingCleanupService.cleanup();
+
+        assertThat(cancelled).isEqualTo(5);
+        assertThat(bookingRepository.findByStatusOrderByCreatedAtDesc(Booking.BookingStatus.CANCELLED)).hasSize(5);
+        assertThat(bookingRepository.findById(fresh.getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(bookingRepository.findById(confirmed.getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.CONFIRMED);
+        // Порции по 2 бронирования: 2 + 2 + 1, одна пакетная компенсация на порцию
+        verify(hotelServiceClient, times(3)).releaseRoomBlocks(anyList());
+    }
+
+    @Test
+    void cleanup_WhenLeaseHeldByAnotherInstance_ShouldSkip() {
+        createBooking(Booking.BookingStatus.PENDING, "stale", true);
+        leaseRepository.save(SchedulerLease.builder()
+                .name(BookingCleanupService.LEASE_NAME)
+                .owner("other-instance")
+                .lockedUntil(LocalDateTime.now().plusMinutes(5))
+                .build());
+
+        assertThat(bookingCleanupService.cleanup()).isEqualTo(-1);
+        assertThat(bookingRepository.findByStatusOrderByCreatedAtDesc(Booking.BookingStatus.PENDING)).hasSize(1);
+        verify(hotelServiceClient, never()).releaseRoomBlocks(List.of("stale"));
+    }
+
+    @Test
+    void cleanup_WhenLeaseLostBetweenChunks_ShouldStop() {
+        for (int i = 0; i < 5; i++) {
+            createBooking(Booking.BookingStatus.PENDING, "stale-" + i, true);
+        }
+        // Пока идет компенсация первой порции, аренду перехватывает другой экземпляр
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE scheduler_leases SET owner = ? WHERE name = ?",
+                    "other-instance", BookingCleanupService.LEASE_NAME);
+            return null;
+        }).when(hotelServiceClient).releaseRoomBlocks(anyList());
+
+        assertThat(bookingCleanupService.cleanup()).isEqualTo(2);
+        assertThat(bookingRepository.findByStatusOrderByCreatedAtDesc(Booking.BookingStatus.PENDING)).hasSize(3);
+        verify(hotelServiceClient, times(1)).releaseRoomBlocks(anyList());
+        assertThat(leaseRepository.findById(BookingCleanupService.LEASE_NAME).orElseThrow().getOwner())
+                .isEqualTo("other-instance");
+    }
+
+    private Booking createBooking(Booking.BookingStatus status, String requestId, boolean stale) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .user(user)
+                .roomId(1L)
+                .hotelId(1L)
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(12))
+                .guestCount(1)
+                .status(status)
+                .requestId(requestId)
+                .build());
+        if (stale) {
+            jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?",
+                    LocalDateTime.now().minusHours(2), booking.getId());
+        }
+        return booking;
+    }
+}
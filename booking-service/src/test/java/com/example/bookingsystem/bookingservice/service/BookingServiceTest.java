@@ -0,0 +1,108 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.CreateBookingRequest;
+import com.example.bookingsystem.bookingservice.dto.PriceQuoteDto;
+import com.example.bookingsystem.bookingservice.dto.RoomAvailabilityResponse;
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+import com.example.bookingsystem.bookingservice.entity.Booking;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.BookingRepository;
+import com.example.bookingsystem.bookingservice.util.BookingMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты метрик саги BookingService.createBooking
+ */
+class BookingServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 10);
+    private static final LocalDate END = LocalDate.of(2030, 1, 13);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingRepository bookingRepository;
+    private HotelServiceClient hotelServiceClient;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingRepository = mock(BookingRepository.class);
+        hotelServiceClient = mock(HotelServiceClient.class);
+        PricingService pricingService = mock(PricingService.class);
+        bookingService = new BookingService(bookingRepository, hotelServiceClient, BookingMapper.INSTANCE,
+                pricingService, new BookingSagaMetrics(meterRegistry));
+
+        when(bookingRepository.findByRequestId(anyString())).thenReturn(Optional.empty());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.searchAvailableRooms(eq(2), eq(START), eq(END), anyInt(), eq("timesBooked"))).thenReturn(List.of(
+                RoomDto.builder().id(7L).hotelId(1L).capacity(2).timesBooked(0).build()));
+        when(pricingService.quote(eq(7L), eq(START), eq(END))).thenReturn(PriceQuoteDto.builder()
+                .roomId(7L).hotelId(1L).totalPrice(new BigDecimal("24000.00")).build());
+    }
+
+    @Test
+    void createBooking_Confirmed_ShouldTimeEveryStep() {
+        when(hotelServiceClient.confirmRoomAvailability(eq(7L), any()))
+                .thenReturn(RoomAvailabilityResponse.builder().available(true).roomId(7L).hotelId(1L).build());
+
+        bookingService.createBooking(request(), user());
+
+        for (String step : List.of("idempotency", "select_room", "quote", "save_pending", "save_confirmed")) {
+            assertThat(meterRegistry.get(BookingSagaMetrics.STEP).tag("step", step).tag("autoSelect", "true")
+                    .timer().count()).as(step).isEqualTo(1);
+        }
+        assertThat(meterRegistry.get(BookingSagaMetrics.STEP).tag("step", "confirm_availability")
+                .tag("outcome", "success").tag("attempt", "1").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(BookingSagaMetrics.SAGA).tag("outcome", "confirmed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(BookingSagaMetrics.COMPENSATIONS).counter()).isNull();
+    }
+
+    @Test
+    void createBooking_HotelServiceDown_ShouldCountExhaustedRetriesAndCompensation() {
+        when(hotelServiceClient.confirmRoomAvailability(eq(7L), any())).thenThrow(new IllegalStateException("down"));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request(), user())).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get(BookingSagaMetrics.STEP).tag("step", "confirm_availability")
+                .tag("outcome", "failure").timers()).hasSize(3);
+        assertThat(meterRegistry.get(BookingSagaMetrics.RETRIES_EXHAUSTED).counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(BookingSagaMetrics.COMPENSATIONS).tag("reason", "error").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get(BookingSagaMetrics.STEP).tag("step", "compensation").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(BookingSagaMetrics.SAGA).tag("outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
+    private static CreateBookingRequest request() {
+        return CreateBookingRequest.builder()
+                .startDate(START)
+                .endDate(END)
+                .guestCount(2)
+                .autoSelect(true)
+                .build();
+    }
+
+    private static User user() {
+        return User.builder().id(1L).username("user").role(User.UserRole.USER).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.PriceQuoteDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для PricingService
+ */
+class PricingServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 10);
+    private static final LocalDate END = LocalDate.of(2030, 1, 13);
+
+    private HotelServiceClient hotelServiceClient;
+    private PricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        hotelServiceClient = mock(HotelServiceClient.class);
+        pricingService = new PricingService(hotelServiceClient, new SimpleMeterRegistry(), Duration.ofMinutes(2), 1000);
+    }
+
+    @Test
+    void quote_RepeatedForSameRoomAndDates_ShouldFetchOnce() {
+        when(hotelServiceClient.getQuote(1L, START, END)).thenReturn(quote(1L, "24000.00"));
+
+        PriceQuoteDto first = pricingService.quote(1L, START, END);
+        PriceQuoteDto second = pricingService.quote(1L, START, END);
+
+        assertThat(second.getTotalPrice()).isEqualByComparingTo("24000.00");
+        assertThat(second).isSameAs(first);
+        verify(hotelServiceClient, times(1)).getQuote(1L, START, END);
+    }
+
+    @Test
+    void quoteBatch_ShouldFetchOnlyMissingRooms() {
+        when(hotelServiceClient.getQuote(1L, START, END)).thenReturn(quote(1L, "24000.00"));
+        when(hotelServiceClient.getQuotes(List.of(2L, 3L), START, END))
+                .thenReturn(List.of(quote(2L, "18000.00"), quote(3L, "9000.00")));
+
+        pricingService.quote(1L, START, END);
+        List<PriceQuoteDto> quotes = pricingService.quote(List.of(1L, 2L, 3L), START, END);
+
+        assertThat(quotes).extracting(PriceQuoteDto::getRoomId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(hotelServiceClient, times(1)).getQuotes(any(), any(), any());
+    }
+
+    @Test
+    void quoteBatch_OverRoomLimit_ShouldBeRejectedWithoutRemoteCall() {
+        List<Long> roomIds = LongStream.rangeClosed(1, PricingService.MAX_QUOTE_ROOMS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> pricingService.quote(roomIds, START, END))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(hotelServiceClient);
+    }
+
+    @Test
+    void quote_WithEmptyPeriod_ShouldBeRejectedWithoutRemoteCall() {
+        assertThatThrownBy(() -> pricingService.quote(1L, START, START))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(hotelServiceClient);
+    }
+
+    private static PriceQuoteDto quote(Long roomId, String total) {
+        return PriceQuoteDto.builder()
+                .roomId(roomId)
+                .hotelId(1L)
+                .startDate(START)
+                .endDate(END)
+                .nights(3)
+                .totalPrice(new BigDecimal(total))
+                .build();
+    }
+}
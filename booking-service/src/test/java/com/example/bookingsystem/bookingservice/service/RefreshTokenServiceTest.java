@@ -0,0 +1,112 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.RefreshTokenRepository;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты для RefreshTokenService
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("refresh-user")
+                .password("hash")
+                .role(User.UserRole.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> refreshTokenRepository.deleteAllByUserId(user.getId()));
+        userRepository.delete(user);
+    }
+
+    @Test
+    void rotate_ShouldRejectReuseOfRotatedToken() {
+        String token = refreshTokenService.issue(user).token();
+
+        Optional<RefreshTokenService.Rotation> first = refreshTokenService.rotate(token);
+        Optional<RefreshTokenService.Rotation> reused = refreshTokenService.rotate(token);
+
+        assertThat(first).isPresent();
+        assertThat(reused.isPresent()).isFalse();
+        // Повторное использование отзывает и токен, выпущенный первым обменом
+        assertThat(refreshTokenService.rotate(first.get().refreshToken().token()).isPresent()).isFalse();
+    }
+
+    @Test
+    void rotate_ShouldIssueOnePairForConcurrentRefreshes() throws Exception {
+        String token = refreshTokenService.issue(user).token();
+        CountDownLatch firstRotated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Первый обмен удерживает транзакцию открытой: второй читает токен еще не отозванным
+        CompletableFuture<Optional<RefreshTokenService.Rotation>> first = CompletableFuture.supplyAsync(() ->
+                transaction.execute(status -> {
+                    Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token);
+                    firstRotated.countDown();
+                    await(commitFirst);
+                    return rotation;
+                }));
+        assertThat(firstRotated.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<RefreshTokenService.Rotation>> second =
+                CompletableFuture.supplyAsync(() -> refreshTokenService.rotate(token));
+        // Второй обмен доходит до отзыва токена и ждет блокировку строки
+        Thread.sleep(300);
+        commitFirst.countDown();
+
+        // Новую пару получает только один из обменов
+        assertThat(first.get(10, TimeUnit.SECONDS).isPresent()).isTrue();
+        assertThat(second.get(10, TimeUnit.SECONDS).isPresent()).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bookingsystem.bookingservice.service;
+
+import com.example.bookingsystem.bookingservice.client.HotelServiceClient;
+import com.example.bookingsystem.bookingservice.dto.UserAuthRequest;
+import com.example.bookingsystem.bookingservice.dto.UserRegistrationRequest;
+import com.example.bookingsystem.bookingservice.entity.User;
+import com.example.bookingsystem.bookingservice.repository.UserRepository;
+import com.example.bookingsystem.bookingservice.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для UserService
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @SpyBean
+    private PasswordHasher passwordHasher;
+
+    @MockBean
+    private HotelServiceClient hotelServiceClient;
+
+    @Test
+    void registerUser_ShouldSaveOutsideHashingPool() {
+        AtomicReference<String> saveThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            saveThread.set(Thread.currentThread().getName());
+            User user = invocation.getArgument(0);
+            user.setId(1L);
+            return user;
+        }).when(userRepository).save(any(User.class));
+
+        UserRegistrationRequest request = UserRegistrationRequest.builder()
+                .username("pool-user")
+                .password("password123")
+                .build();
+
+        User saved = userService.registerUser(request).join();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saveThread.get()).isNotNull().doesNotStartWith("password-hashing-");
+    }
+
+    @Test
+    void authenticateUser_UnknownUsername_ShouldStillComparePassword() {
+        UserAuthRequest request = UserAuthRequest.builder()
+                .username("no-such-user")
+                .password("password123")
+                .build();
+
+        Optional<User> result = userService.authenticateUser(request).join();
+
+        assertThat(result).isEmpty();
+        verify(passwordHasher).matchesDummy("password123");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bookingsystem.bookingservice.util;
+
+import com.example.bookingsystem.bookingservice.dto.RoomDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты для RoomRanking
+ */
+class RoomRankingTest {
+
+    @Test
+    void selectLeastBooked_ShouldPreferLowerIdOnTie() {
+        List<RoomDto> rooms = List.of(room(3L, 1, 2), room(2L, 1, 2), room(5L, 4, 2));
+
+        assertThat(RoomRanking.selectLeastBooked(rooms, 2)).map(RoomDto::getId).contains(2L);
+    }
+
+    @Test
+    void selectLeastBooked_WithMissingIds_ShouldNotFail() {
+        List<RoomDto> rooms = List.of(room(null, 0, 2), room(7L, 0, 2), room(null, 0, 2));
+
+        assertThat(RoomRanking.selectLeastBooked(rooms, null)).map(RoomDto::getId).contains(7L);
+    }
+
+    private static RoomDto room(Long id, int timesBooked, int capacity) {
+        return RoomDto.builder()
+                .id(id)
+                .timesBooked(timesBooked)
+                .capacity(capacity)
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+-- Схема, которую создавал hibernate ddl-auto до перехода на Flyway (./data/bookingdb): только users и bookings,
+-- идентификаторы IDENTITY, стоимость с плавающей точкой
+create table users (created_at timestamp(6) not null, id bigint generated by default as identity, updated_at timestamp(6), email varchar(100), first_name varchar(50), last_name varchar(50), password varchar(100) not null, phone_number varchar(20), role varchar(20) not null check (role in ('USER','ADMIN')), username varchar(50) not null unique, primary key (id));
+create table bookings (guest_count integer not null, total_price float(53), created_at timestamp(6) not null, end_date date not null, hotel_id bigint not null, id bigint generated by default as identity, room_id bigint not null, start_date date not null, updated_at timestamp(6), user_id bigint not null, status varchar(20) not null check (status in ('PENDING','CONFIRMED','CANCELLED')), request_id varchar(100), special_requests varchar(1000), primary key (id));
+alter table if exists bookings add constraint FKeyog2oic85xg7hsu2je2lx3s6 foreign key (user_id) references users;
+
+insert into users (id, username, password, role, created_at) values (1, 'legacy-admin', 'hash', 'ADMIN', current_timestamp);
+insert into users (id, username, password, role, created_at) values (3, 'legacy-user', 'hash', 'USER', current_timestamp);
+insert into bookings (id, user_id, room_id, hotel_id, start_date, end_date, status, total_price, guest_count, created_at)
+    values (7, 3, 1, 1, date '2026-01-10', date '2026-01-12', 'CONFIRMED', 150.5, 2, current_timestamp);
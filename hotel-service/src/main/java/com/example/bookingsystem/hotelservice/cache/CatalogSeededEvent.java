@@ -0,0 +1,8 @@
+package com.example.bookingsystem.hotelservice.cache;
+
+/**
+ * Событие завершения фонового заполнения каталога (DataSeeding в асинхронном режиме)
+ * Индексы поиска перестраиваются, кэши каталога очищаются: во время заполнения они видели неполные данные
+ */
+public record CatalogSeededEvent() {
+}
@@ -0,0 +1,153 @@
+package com.example.bookingsystem.hotelservice.cache;
+
+import com.example.bookingsystem.hotelservice.config.CacheConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Инвалидация кэша каталога отелей
+ * Локальный кэш очищается после фиксации транзакции, затем событие рассылается
+ * остальным экземплярам Hotel Service, найденным через Eureka
+ * Номера входят в HotelDto, поэтому событие публикуют и изменения номеров (создание, тариф);
+ * счетчик бронирований в HotelDto не входит, подтверждение и отмена бронирования кэш не затрагивают
+ */
+@Component
+@Slf4j
+public class HotelCacheInvalidator {
+
+    /**
+     * Роль, под которой экземпляры сервиса обращаются друг к другу
+     */
+    public static final String INTERNAL_ROLE = "SERVICE";
+
+    private final CacheManager cacheManager;
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final ThreadPoolExecutor broadcastExecutor;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${spring.application.name}")
+    private String serviceId;
+
+    @Value("${hotel.cache.broadcast-enabled:true}")
+    private boolean broadcastEnabled;
+
+    @Value("${security.gateway.internal-token:}")
+    private String internalToken;
+
+    public HotelCacheInvalidator(CacheManager cacheManager, DiscoveryClient discoveryClient,
+                                 RestClient.Builder restClientBuilder) {
+        this.cacheManager = cacheManager;
+        this.discoveryClient = discoveryClient;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        // Построитель из контекста Spring: вызовы попадают в трассировку и метрики http.client.requests
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+
+        // Рассылка не должна задерживать ответ на запрос изменения; при перегрузке события отбрасываются,
+        // устаревшие записи у соседей истекут по TTL
+        this.broadcastExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), runnable -> {
+                    Thread thread = new Thread(runnable, "hotel-cache-broadcast");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Обработка изменения отеля после фиксации транзакции
+     */
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        evictLocal(event.hotelId());
+        if (broadcastEnabled) {
+            try {
+                broadcastExecutor.execute(() -> broadcast(event.hotelId()));
+            } catch (RejectedExecutionException e) {
+                log.warn("Очередь рассылки инвалидации переполнена, событие для отеля {} пропущено", event.hotelId());
+            }
+        }
+    }
+
+    /**
+     * Очистка локального кэша (вызывается и при получении события от другого экземпляра)
+     */
+    public void evictLocal(Long hotelId) {
+        Cache hotels = cacheManager.getCache(CacheConfig.HOTELS);
+        if (hotels != null && hotelId != null) {
+            hotels.evict(hotelId);
+        }
+        Cache search = cacheManager.getCache(CacheConfig.HOTEL_SEARCH);
+        if (search != null) {
+            search.clear();
+        }
+        log.debug("Кэш каталога очищен для отеля {}", hotelId);
+    }
+
+    /**
+     * Полная очистка локального кэша после фонового заполнения базы: пустые ответы, закэшированные
+     * до его завершения, не должны жить до истечения TTL
+     */
+    @EventListener(CatalogSeededEvent.class)
+    public void onCatalogSeeded() {
+        for (String name : List.of(CacheConfig.HOTELS, CacheConfig.HOTEL_SEARCH)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.info("Кэш каталога очищен после фонового заполнения базы");
+    }
+
+    /**
+     * Идентификатор текущего экземпляра, чтобы не обрабатывать собственную рассылку
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcastExecutor.shutdown();
+    }
+
+    private void broadcast(Long hotelId) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.post()
+                        .uri(instance.getUri() + "/internal/cache/hotels/evict?hotelId={hotelId}&origin={origin}",
+                                hotelId, nodeId)
+                        .header("X-Gateway-Token", internalToken)
+                        .header("X-User-Name", serviceId)
+                        .header("X-User-Role", INTERNAL_ROLE)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                log.warn("Не удалось разослать инвалидацию кэша экземпляру {}: {}", instance.getUri(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bookingsystem.hotelservice.cache;
+
+/**
+ * Событие изменения данных отеля (создание, обновление, удаление, изменение номеров и их счетчиков бронирований)
+ * Обрабатывается после фиксации транзакции
+ */
+public record HotelChangedEvent(Long hotelId) {
+}
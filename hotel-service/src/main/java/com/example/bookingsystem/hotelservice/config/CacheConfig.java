@@ -0,0 +1,24 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация кэширования каталога отелей
+ * Размер и время жизни задаются через spring.cache.caffeine.spec,
+ * метрики попаданий/промахов публикуются через actuator (cache.gets)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Кэш отелей по ID
+     */
+    public static final String HOTELS = "hotels";
+
+    /**
+     * Кэш результатов списков и поиска отелей
+     */
+    public static final String HOTEL_SEARCH = "hotel-search";
+}
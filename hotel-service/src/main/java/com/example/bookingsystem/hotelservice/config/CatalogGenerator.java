@@ -0,0 +1,267 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.entity.Amenity;
+import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор синтетического каталога для нагрузочных тестов (профиль large-catalog)
+ * Создает hotels отелей и rooms номеров вместо демонстрационных данных DataInitializer:
+ * - отели распределены по городам неравномерно (Москва и Санкт-Петербург - около половины каталога);
+ * - размер отеля логнормальный: много небольших отелей и несколько крупных;
+ * - базовая цена зависит от города, рейтинга и случайного разброса, цена номера - от категории;
+ * - счетчик бронирований отражает популярность отеля: рекомендации и автоподбор работают на перекошенных данных.
+ * Генерация детерминирована (seed) и выполняется порциями (chunk-size) в отдельных транзакциях с пакетными INSERT.
+ * Запускается только на пустой базе, индексы поиска строятся после старта как обычно
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.generator.enabled", havingValue = "true")
+@Slf4j
+public class CatalogGenerator implements CommandLineRunner {
+
+    private record City(String name, int weight, double priceFactor, String phoneCode) {
+    }
+
+    private record RoomCategory(String type, int capacity, double priceFactor, int weight, String description) {
+    }
+
+    private static final List<City> CITIES = List.of(
+            new City("Москва", 30, 1.6, "495"),
+            new City("Санкт-Петербург", 18, 1.35, "812"),
+            new City("Сочи", 9, 1.3, "862"),
+            new City("Казань", 6, 1.0, "843"),
+            new City("Екатеринбург", 5, 0.95, "343"),
+            new City("Калининград", 4, 0.9, "401"),
+            new City("Новосибирск", 4, 0.85, "383"),
+            new City("Нижний Новгород", 4, 0.85, "831"),
+            new City("Краснодар", 3, 0.85, "861"),
+            new City("Владивосток", 3, 1.0, "423"),
+            new City("Ярославль", 3, 0.75, "485"),
+            new City("Самара", 2, 0.75, "846"),
+            new City("Иркутск", 2, 0.8, "395"),
+            new City("Мурманск", 1, 0.9, "815"));
+
+    private static final List<RoomCategory> CATEGORIES = List.of(
+            new RoomCategory("Эконом", 1, 0.7, 15, "Компактный номер для одного гостя"),
+            new RoomCategory("Стандарт", 2, 1.0, 45, "Стандартный номер с двуспальной кроватью"),
+            new RoomCategory("Улучшенный", 2, 1.3, 20, "Улучшенный номер с видом на город"),
+            new RoomCategory("Семейный", 4, 1.6, 10, "Семейный номер с диваном"),
+            new RoomCategory("Люкс", 2, 2.6, 7, "Люкс с гостиной зоной"),
+            new RoomCategory("Апартаменты", 5, 2.2, 3, "Апартаменты с кухней"));
+
+    private static final String[] HOTEL_NAMES = {
+            "Гранд", "Парк", "Бизнес", "Центральный", "Престиж", "Маяк", "Ривьера", "Империал", "Восток",
+            "Аврора", "Сити", "Панорама"};
+
+    private static final String[] STREETS = {
+            "Ленина улица", "Мира проспект", "Советская улица", "Гагарина улица", "Набережная улица",
+            "Пушкина улица", "Садовая улица", "Центральная улица", "Победы проспект", "Лесная улица"};
+
+    private static final int ROOMS_PER_FLOOR = 20;
+    private static final double BASE_PRICE = 4500;
+
+    private final HotelRepository hotelRepository;
+    private final DataSeeding dataSeeding;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int hotels;
+    private final int rooms;
+    private final long seed;
+    private final int chunkSize;
+
+    public CatalogGenerator(HotelRepository hotelRepository,
+                            DataSeeding dataSeeding,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${hotel.generator.hotels:1000}") int hotels,
+                            @Value("${hotel.generator.rooms:50000}") int rooms,
+                            @Value("${hotel.generator.seed:42}") long seed,
+                            @Value("${hotel.generator.chunk-size:1000}") int chunkSize) {
+        if (hotels < 1 || rooms < 0 || chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "hotel.generator: hotels и chunk-size должны быть положительными, rooms - неотрицательным");
+        }
+        this.hotelRepository = hotelRepository;
+        this.dataSeeding = dataSeeding;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotels = hotels;
+        this.rooms = rooms;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        dataSeeding.submit("синтетический каталог", this::generate);
+    }
+
+    private void generate() {
+        if (hotelRepository.count() > 0) {
+            log.info("Каталог не пуст, генерация синтетического каталога пропущена");
+            return;
+        }
+        log.info("Генерация синтетического каталога: отелей {}, номеров {}", hotels, rooms);
+        long started = System.nanoTime();
+
+        Random random = new Random(seed);
+        int[] roomCounts = hotelSizes(random);
+        int[] cityWeights = CITIES.stream().mapToInt(City::weight).toArray();
+        int[] categoryWeights = CATEGORIES.stream().mapToInt(RoomCategory::weight).toArray();
+
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        int[] perCity = new int[CITIES.size()];
+        for (int h = 0; h < hotels; h++) {
+            int cityIndex = pick(random, cityWeights);
+            City city = CITIES.get(cityIndex);
+            perCity[cityIndex]++;
+
+            double rating = Math.round(clamp(4.2 + random.nextGaussian() * 0.35, 3.0, 5.0) * 10) / 10.0;
+            double hotelPrice = BASE_PRICE * city.priceFactor() * (1 + (rating - 4.0) * 0.4)
+                    * Math.exp(random.nextGaussian() * 0.35);
+            // Популярность отеля: у немногих отелей большая часть бронирований
+            double popularity = Math.exp(random.nextGaussian());
+
+            Hotel hotel = Hotel.builder()
+                    .name(HOTEL_NAMES[random.nextInt(HOTEL_NAMES.length)] + " " + city.name() + " " + perCity[cityIndex])
+                    .address(STREETS[random.nextInt(STREETS.length)] + ", " + (1 + random.nextInt(150)) + ", " + city.name())
+                    .description("Синтетический отель для нагрузочного тестирования")
+                    .phoneNumber(String.format("+7 (%s) %03d-%02d-%02d", city.phoneCode(),
+                            random.nextInt(1000), random.nextInt(100), random.nextInt(100)))
+                    .email("hotel" + (h + 1) + "@generated.example")
+                    .rating(rating)
+                    .build();
+            chunk.add(hotel);
+
+            for (int r = 0; r < roomCounts[h]; r++) {
+                RoomCategory category = CATEGORIES.get(pick(random, categoryWeights));
+                double price = hotelPrice * category.priceFactor() * (0.95 + random.nextDouble() * 0.1);
+                chunk.add(Room.builder()
+                        .hotel(hotel)
+                        .roomNumber(String.valueOf((r / ROOMS_PER_FLOOR + 1) * 100 + r % ROOMS_PER_FLOOR + 1))
+                        .roomType(category.type())
+                        .capacity(category.capacity())
+                        .pricePerNight(BigDecimal.valueOf(price / 50).setScale(0, RoundingMode.HALF_UP)
+                                .multiply(BigDecimal.valueOf(50)).setScale(2))
+                        .description(category.description())
+                        .amenityMask(amenities(random, category))
+                        .available(random.nextDouble() >= 0.03)
+                        .timesBooked((int) (popularity * Math.exp(random.nextGaussian() * 0.5) * 8))
+                        .build());
+                if (chunk.size() >= chunkSize) {
+                    write(chunk);
+                }
+            }
+            if (chunk.size() >= chunkSize) {
+                write(chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk);
+        }
+
+        log.info("Синтетический каталог создан за {} мс", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Размеры отелей: логнормальные веса, приведенные к общему числу номеров (не меньше одного номера на отель,
+     * если номеров хватает)
+     */
+    private int[] hotelSizes(Random random) {
+        double[] weights = new double[hotels];
+        double total = 0;
+        for (int h = 0; h < hotels; h++) {
+            weights[h] = Math.exp(random.nextGaussian() * 0.8);
+            total += weights[h];
+        }
+        int minimum = rooms >= hotels ? 1 : 0;
+        int spread = rooms - minimum * hotels;
+        int[] sizes = new int[hotels];
+        int assigned = 0;
+        for (int h = 0; h < hotels; h++) {
+            sizes[h] = minimum + (int) (spread * weights[h] / total);
+            assigned += sizes[h];
+        }
+        // Остаток от округления вниз - по одному номеру первым отелям
+        for (int h = 0; assigned < rooms; h = (h + 1) % hotels) {
+            sizes[h]++;
+            assigned++;
+        }
+        return sizes;
+    }
+
+    private static long amenities(Random random, RoomCategory category) {
+        long mask = Amenity.WIFI.getBit();
+        if (random.nextDouble() < 0.8) {
+            mask |= Amenity.AIR_CONDITIONING.getBit();
+        }
+        if (random.nextDouble() < 0.6) {
+            mask |= Amenity.SAFE.getBit();
+        }
+        if (category.priceFactor() >= 2 || random.nextDouble() < 0.2) {
+            mask |= Amenity.MINIBAR.getBit();
+        }
+        if (category.capacity() >= 4) {
+            mask |= Amenity.SOFA.getBit();
+        }
+        if (random.nextDouble() < 0.3) {
+            mask |= Amenity.WORK_DESK.getBit();
+        }
+        if (random.nextDouble() < 0.25) {
+            mask |= Amenity.BALCONY.getBit();
+        }
+        return mask;
+    }
+
+    /**
+     * Запись порции в одной транзакции; отели порции идут раньше своих номеров
+     */
+    private void write(List<Object> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object entity : chunk) {
+                if (entity instanceof Room room && !entityManager.contains(room.getHotel())) {
+                    // Отель записан предыдущей порцией и отсоединен при очистке контекста
+                    room.setHotel(entityManager.getReference(Hotel.class, room.getHotel().getId()));
+                }
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        chunk.clear();
+    }
+
+    private static int pick(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int value = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookingsystem.hotelservice.config;
 
+import com.example.bookingsystem.hotelservice.entity.Amenity;
 import com.example.bookingsystem.hotelservice.entity.Hotel;
 import com.example.bookingsystem.hotelservice.entity.Room;
 import com.example.bookingsystem.hotelservice.repository.HotelRepository;
@@ -7,24 +8,38 @@ import com.example.bookingsystem.hotelservice.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.bookingsystem.hotelservice.entity.Amenity.*;
 
 /**
  * Инициализация тестовых данных для Hotel Service
+ * При включенном генераторе синтетического каталога (CatalogGenerator) не выполняется
  */
 @Component
+@ConditionalOnProperty(name = "hotel.generator.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
     private final HotelRepository hotelRepository;
     private final RoomRepository roomRepository;
+    private final DataSeeding dataSeeding;
 
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
+        dataSeeding.submit("демонстрационные данные", this::initialize);
+    }
+
+    private void initialize() {
         log.info("Инициализация тестовых данных для Hotel Service");
         
         if (hotelRepository.count() == 0) {
@@ -72,9 +87,7 @@ public class DataInitializer implements CommandLineRunner {
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        hotelRepository.save(hotel1);
-        hotelRepository.save(hotel2);
-        hotelRepository.save(hotel3);
+        hotelRepository.saveAll(List.of(hotel1, hotel2, hotel3));
         
         log.info("Создано {} отелей", hotelRepository.count());
     }
@@ -90,43 +103,45 @@ public class DataInitializer implements CommandLineRunner {
         Hotel hotel2 = hotelRepository.findByName("Отель Санкт-Петербург").orElseThrow();
         Hotel hotel3 = hotelRepository.findByName("Бизнес Отель Екатеринбург").orElseThrow();
         
+        List<Room> rooms = new ArrayList<>();
+
         // Номера для первого отеля
-        createRoom(hotel1, "101", "Люкс", 2, new BigDecimal("15000.00"), "Роскошный люкс с видом на Кремль", "WiFi, мини-бар, кондиционер, сейф");
-        createRoom(hotel1, "102", "Стандарт", 1, new BigDecimal("8000.00"), "Стандартный номер с удобствами", "WiFi, кондиционер, сейф");
-        createRoom(hotel1, "103", "Семейный", 4, new BigDecimal("12000.00"), "Семейный номер для 4 человек", "WiFi, кондиционер, сейф, диван");
-        createRoom(hotel1, "201", "Бизнес", 2, new BigDecimal("10000.00"), "Бизнес-номер с рабочим местом", "WiFi, кондиционер, сейф, рабочий стол");
+        rooms.add(createRoom(hotel1, "101", "Люкс", 2, new BigDecimal("15000.00"), "Роскошный люкс с видом на Кремль", EnumSet.of(WIFI, MINIBAR, AIR_CONDITIONING, SAFE)));
+        rooms.add(createRoom(hotel1, "102", "Стандарт", 1, new BigDecimal("8000.00"), "Стандартный номер с удобствами", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE)));
+        rooms.add(createRoom(hotel1, "103", "Семейный", 4, new BigDecimal("12000.00"), "Семейный номер для 4 человек", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE, SOFA)));
+        rooms.add(createRoom(hotel1, "201", "Бизнес", 2, new BigDecimal("10000.00"), "Бизнес-номер с рабочим местом", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE, WORK_DESK)));
         
         // Номера для второго отеля
-        createRoom(hotel2, "301", "Стандарт", 2, new BigDecimal("6000.00"), "Стандартный номер с видом на Невский", "WiFi, кондиционер, сейф");
-        createRoom(hotel2, "302", "Улучшенный", 2, new BigDecimal("8000.00"), "Улучшенный номер с балконом", "WiFi, кондиционер, сейф, балкон");
-        createRoom(hotel2, "401", "Люкс", 2, new BigDecimal("12000.00"), "Люкс с панорамным видом", "WiFi, мини-бар, кондиционер, сейф, балкон");
+        rooms.add(createRoom(hotel2, "301", "Стандарт", 2, new BigDecimal("6000.00"), "Стандартный номер с видом на Невский", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE)));
+        rooms.add(createRoom(hotel2, "302", "Улучшенный", 2, new BigDecimal("8000.00"), "Улучшенный номер с балконом", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE, BALCONY)));
+        rooms.add(createRoom(hotel2, "401", "Люкс", 2, new BigDecimal("12000.00"), "Люкс с панорамным видом", EnumSet.of(WIFI, MINIBAR, AIR_CONDITIONING, SAFE, BALCONY)));
         
         // Номера для третьего отеля
-        createRoom(hotel3, "501", "Эконом", 1, new BigDecimal("3000.00"), "Экономный номер для бизнес-поездок", "WiFi, кондиционер");
-        createRoom(hotel3, "502", "Стандарт", 2, new BigDecimal("4500.00"), "Стандартный бизнес-номер", "WiFi, кондиционер, сейф");
-        createRoom(hotel3, "601", "Конференц-зал", 20, new BigDecimal("25000.00"), "Большой конференц-зал", "WiFi, проектор, флипчарт, кофе-брейк");
+        rooms.add(createRoom(hotel3, "501", "Эконом", 1, new BigDecimal("3000.00"), "Экономный номер для бизнес-поездок", EnumSet.of(WIFI, AIR_CONDITIONING)));
+        rooms.add(createRoom(hotel3, "502", "Стандарт", 2, new BigDecimal("4500.00"), "Стандартный бизнес-номер", EnumSet.of(WIFI, AIR_CONDITIONING, SAFE)));
+        rooms.add(createRoom(hotel3, "601", "Конференц-зал", 20, new BigDecimal("25000.00"), "Большой конференц-зал", EnumSet.of(WIFI, PROJECTOR, FLIPCHART, COFFEE_BREAK)));
         
+        // Одна транзакция: вставки отправляются JDBC пакетами
+        roomRepository.saveAll(rooms);
         log.info("Создано {} номеров", roomRepository.count());
     }
 
     /**
-     * Создание номера
+     * Создание номера (без сохранения)
      */
-    private void createRoom(Hotel hotel, String roomNumber, String roomType, Integer capacity, 
-                           BigDecimal pricePerNight, String description, String amenities) {
-        Room room = Room.builder()
+    private Room createRoom(Hotel hotel, String roomNumber, String roomType, Integer capacity, 
+                           BigDecimal pricePerNight, String description, Set<Amenity> amenities) {
+        return Room.builder()
                 .hotel(hotel)
                 .roomNumber(roomNumber)
                 .roomType(roomType)
                 .capacity(capacity)
                 .pricePerNight(pricePerNight)
                 .description(description)
-                .amenities(amenities)
+                .amenityMask(Amenity.maskOf(amenities))
                 .available(true)
                 .timesBooked(0)
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        roomRepository.save(room);
     }
 }
@@ -0,0 +1,86 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.cache.CatalogSeededEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Заполнение базы при старте (DataInitializer, CatalogGenerator)
+ * По умолчанию задачи выполняются сразу, до готовности приложения. При hotel.seeding.async=true (профиль fast-start)
+ * они выполняются по порядку в фоновом потоке после старта: экземпляр принимает запросы, не дожидаясь заполнения,
+ * а индикатор здоровья dataSeeding (входит в группу readiness) до завершения сообщает OUT_OF_SERVICE.
+ * После фонового заполнения публикуется CatalogSeededEvent
+ */
+@Component
+@Slf4j
+public class DataSeeding implements HealthIndicator {
+
+    private record Task(String name, Runnable action) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean async;
+    private final List<Task> pending = new ArrayList<>();
+    private volatile boolean completed;
+
+    public DataSeeding(ApplicationEventPublisher eventPublisher,
+                       @Value("${hotel.seeding.async:false}") boolean async) {
+        this.eventPublisher = eventPublisher;
+        this.async = async;
+        this.completed = !async;
+    }
+
+    /**
+     * Выполнение задачи заполнения сразу или, в асинхронном режиме, постановка в очередь фонового потока
+     */
+    public synchronized void submit(String name, Runnable action) {
+        if (async && !completed) {
+            pending.add(new Task(name, action));
+        } else {
+            action.run();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (completed) {
+            return;
+        }
+        List<Task> tasks = List.copyOf(pending);
+        pending.clear();
+        Thread thread = new Thread(() -> runAll(tasks), "data-seeding");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runAll(List<Task> tasks) {
+        long started = System.nanoTime();
+        for (Task task : tasks) {
+            try {
+                task.action().run();
+            } catch (RuntimeException e) {
+                log.error("Ошибка фонового заполнения ({}): {}", task.name(), e.getMessage(), e);
+            }
+        }
+        completed = true;
+        eventPublisher.publishEvent(new CatalogSeededEvent());
+        log.info("Фоновое заполнение базы завершено за {} мс", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public Health health() {
+        if (completed) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("seeding", "заполнение базы не завершено").build();
+    }
+}
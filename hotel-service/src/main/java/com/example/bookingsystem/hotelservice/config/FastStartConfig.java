@@ -0,0 +1,23 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.hold.RoomHoldRegistry;
+import com.example.bookingsystem.hotelservice.search.HotelSearchIndex;
+import com.example.bookingsystem.hotelservice.search.RoomPriceIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Выборочная ленивая инициализация (профиль fast-start, spring.main.lazy-initialization=true)
+ * Контроллеры, сервисы и клиенты создаются при первом обращении, а индексы поиска и реестр блокировок
+ * номеров - при старте: их построение не должно ложиться на первый запрос
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                HotelSearchIndex.class, RoomPriceIndex.class, RoomHoldRegistry.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Выборочное логирование SQL запросов Hotel Service вместо spring.jpa.show-sql
+ * Медленные и завершившиеся ошибкой запросы логируются всегда (WARN), остальные - с вероятностью sample-rate (INFO);
+ * строка сообщения собирается только для попавших в выборку запросов.
+ * Подключается к прокси источника данных (datasource-micrometer) как QueryExecutionListener
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.sql-logging.enabled", havingValue = "true")
+@Slf4j
+public class SampledQueryLogger implements QueryExecutionListener {
+
+    private final double sampleRate;
+    private final long slowThresholdMillis;
+
+    public SampledQueryLogger(@Value("${hotel.sql-logging.sample-rate:0.01}") double sampleRate,
+                              @Value("${hotel.sql-logging.slow-threshold:200ms}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (!execInfo.isSuccess() || elapsed >= slowThresholdMillis) {
+            if (log.isWarnEnabled()) {
+                log.warn("Медленный или неуспешный SQL запрос ({} мс, пакет {}): {}",
+                        elapsed, execInfo.getBatchSize(), queries(queryInfoList));
+            }
+        } else if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("SQL запрос ({} мс, пакет {}): {}", elapsed, execInfo.getBatchSize(), queries(queryInfoList));
+        }
+    }
+
+    private static String queries(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return queryInfoList.get(0).getQuery();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!sb.isEmpty()) {
+                sb.append("; ");
+            }
+            sb.append(queryInfo.getQuery());
+        }
+        return sb.toString();
+    }
+}
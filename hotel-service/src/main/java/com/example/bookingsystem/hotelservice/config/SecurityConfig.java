@@ -1,20 +1,28 @@
 package com.example.bookingsystem.hotelservice.config;
 
+import com.example.bookingsystem.hotelservice.security.GatewayAuthenticationFilter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Конфигурация безопасности для Hotel Service
  */
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity(prePostEnabled = true)
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final GatewayAuthenticationFilter gatewayAuthenticationFilter;
+
     /**
      * Настройка цепочки фильтров безопасности
      */
@@ -26,10 +34,11 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 // Swagger документация
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**").permitAll()
-                // Разрешаем все запросы для Hotel Service
-                // В реальной системе здесь должна быть проверка JWT токенов
+                // Каталог открыт для чтения; административные операции защищены @PreAuthorize,
+                // роль берется из доверенных заголовков API Gateway
                 .anyRequest().permitAll()
-            );
+            )
+            .addFilterBefore(gatewayAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
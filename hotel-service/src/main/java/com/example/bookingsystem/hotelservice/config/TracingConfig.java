@@ -0,0 +1,24 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация трассировки Hotel Service
+ * Спаны экспортируются в OTLP коллектор, если задан management.otlp.tracing.endpoint,
+ * и/или в лог приложения при tracing.export.logging=true (для стендов без коллектора)
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Экспорт завершенных спанов в лог (логгер io.opentelemetry.exporter.logging.LoggingSpanExporter)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.logging", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.dto.ListFields;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+/**
+ * Конфигурация Spring MVC
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Параметр fields принимается в любом регистре (fields=summary)
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ListFields.class,
+                source -> ListFields.valueOf(source.trim().toUpperCase(Locale.ROOT)));
+    }
+}
@@ -2,16 +2,30 @@ package com.example.bookingsystem.hotelservice.controller;
 
 import com.example.bookingsystem.hotelservice.dto.CreateHotelRequest;
 import com.example.bookingsystem.hotelservice.dto.HotelDto;
+import com.example.bookingsystem.hotelservice.dto.HotelImportResult;
+import com.example.bookingsystem.hotelservice.dto.HotelSearchResponse;
+import com.example.bookingsystem.hotelservice.dto.HotelView;
+import com.example.bookingsystem.hotelservice.dto.ListFields;
+import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.service.HotelImportService;
 import com.example.bookingsystem.hotelservice.service.HotelService;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
+import com.example.bookingsystem.hotelservice.util.PageQuery;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST контроллер для управления отелями
@@ -22,7 +36,12 @@ import java.util.List;
 @Slf4j
 public class HotelController {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final Set<String> HOTEL_SORTS = Set.of("id", "name");
+
     private final HotelService hotelService;
+    private final HotelImportService hotelImportService;
+    private final CursorPagination cursorPagination;
 
     /**
      * Создание нового отеля (только для администраторов)
@@ -36,13 +55,33 @@ public class HotelController {
     }
 
     /**
-     * Получение всех отелей
+     * Массовый импорт отелей и номеров (только для администраторов)
+     * Тело читается потоком: CSV с заголовком (text/csv) или NDJSON (application/x-ndjson), запись на номер
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HotelImportResult> importCatalog(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) throws IOException {
+        HotelImportService.Format format = "csv".equalsIgnoreCase(MediaType.parseMediaType(contentType).getSubtype())
+                ? HotelImportService.Format.CSV
+                : HotelImportService.Format.NDJSON;
+        log.info("Массовый импорт каталога ({})", format);
+        return ResponseEntity.ok(hotelImportService.importCatalog(body, format));
+    }
+
+    /**
+     * Получение страницы отелей (fields=summary - краткое представление без номеров)
+     * Курсор следующей страницы возвращается в заголовке X-Next-Cursor
      */
     @GetMapping
-    public ResponseEntity<List<HotelDto>> getAllHotels() {
-        log.debug("Получение списка всех отелей");
-        List<HotelDto> hotels = hotelService.getAllHotels();
-        return ResponseEntity.ok(hotels);
+    public ResponseEntity<List<HotelView>> getAllHotels(
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        log.debug("Получение списка отелей");
+        PageQuery page = cursorPagination.parse(cursor, size, sort, Hotel.class, HOTEL_SORTS, Sort.by("id"));
+        return CursorPagination.toResponse(hotelService.getAllHotels(fields, page));
     }
 
     /**
@@ -77,12 +116,29 @@ public class HotelController {
     }
 
     /**
-     * Поиск отелей по рейтингу
+     * Полнотекстовый поиск по названию и адресу (город, улица) с ранжированием и пагинацией
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<HotelSearchResponse> searchHotels(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Полнотекстовый поиск отелей: {}", q);
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hotelService.searchHotels(q, page, size));
+    }
+
+    /**
+     * Поиск отелей по рейтингу (fields=summary - краткое представление без номеров)
      */
     @GetMapping("/search/rating")
-    public ResponseEntity<List<HotelDto>> getHotelsByRating(@RequestParam Double minRating) {
+    public ResponseEntity<List<HotelView>> getHotelsByRating(@RequestParam Double minRating,
+                                                             @RequestParam(defaultValue = "full") ListFields fields) {
         log.debug("Поиск отелей с рейтингом >= {}", minRating);
-        List<HotelDto> hotels = hotelService.getHotelsByRating(minRating);
+        List<HotelView> hotels = fields == ListFields.SUMMARY
+                ? List.copyOf(hotelService.getHotelSummariesByRating(minRating))
+                : List.copyOf(hotelService.getHotelsByRating(minRating));
         return ResponseEntity.ok(hotels);
     }
 
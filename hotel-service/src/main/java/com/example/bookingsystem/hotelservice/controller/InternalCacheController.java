@@ -0,0 +1,45 @@
+package com.example.bookingsystem.hotelservice.controller;
+
+import com.example.bookingsystem.hotelservice.cache.HotelCacheInvalidator;
+import com.example.bookingsystem.hotelservice.search.HotelSearchIndex;
+import com.example.bookingsystem.hotelservice.search.RoomPriceIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Внутренний API инвалидации кэша каталога (вызывается другими экземплярами Hotel Service)
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalCacheController {
+
+    private final HotelCacheInvalidator hotelCacheInvalidator;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final RoomPriceIndex roomPriceIndex;
+
+    /**
+     * Обновление поискового и ценового индексов и очистка кэша отеля по событию от другого экземпляра
+     */
+    @PostMapping("/hotels/evict")
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<Void> evictHotel(@RequestParam(required = false) Long hotelId,
+                                           @RequestParam String origin) {
+        if (!origin.equals(hotelCacheInvalidator.getNodeId())) {
+            log.debug("Получено событие инвалидации кэша для отеля {} от {}", hotelId, origin);
+            if (hotelId != null) {
+                hotelSearchIndex.reindex(hotelId);
+                roomPriceIndex.reindexHotel(hotelId);
+            }
+            hotelCacheInvalidator.evictLocal(hotelId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
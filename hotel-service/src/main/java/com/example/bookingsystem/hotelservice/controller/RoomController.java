@@ -1,22 +1,40 @@
 package com.example.bookingsystem.hotelservice.controller;
 
+import com.example.bookingsystem.hotelservice.dto.AmenityDto;
 import com.example.bookingsystem.hotelservice.dto.CreateRoomRequest;
+import com.example.bookingsystem.hotelservice.dto.ListFields;
+import com.example.bookingsystem.hotelservice.dto.RatePlanRequest;
 import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityRequest;
 import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityResponse;
 import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.dto.RoomQuoteDto;
+import com.example.bookingsystem.hotelservice.dto.RoomSearchRequest;
+import com.example.bookingsystem.hotelservice.dto.RoomView;
+import com.example.bookingsystem.hotelservice.entity.Amenity;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.service.PricingService;
 import com.example.bookingsystem.hotelservice.service.RoomService;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
+import com.example.bookingsystem.hotelservice.util.PageQuery;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST контроллер для управления номерами
+ * Списки постраничные: size (ограничен на сервере), sort=поле[,desc], cursor из заголовка X-Next-Cursor
  */
 @RestController
 @RequestMapping("/api/rooms")
@@ -24,7 +42,12 @@ import java.util.List;
 @Slf4j
 public class RoomController {
 
+    private static final Set<String> ROOM_SORTS =
+            Set.of("id", "roomNumber", "capacity", "pricePerNight", "timesBooked");
+
     private final RoomService roomService;
+    private final PricingService pricingService;
+    private final CursorPagination cursorPagination;
 
     /**
      * Создание нового номера (только для администраторов)
@@ -37,6 +60,26 @@ public class RoomController {
         return ResponseEntity.status(HttpStatus.CREATED).body(room);
     }
 
+    /**
+     * Установка сезонного тарифа номера (только для администраторов)
+     */
+    @PutMapping("/{id}/rates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoomDto> updateRatePlan(@PathVariable Long id, @Valid @RequestBody RatePlanRequest request) {
+        log.info("Установка тарифа номера {}: {} сезонов", id, request.getSeasons().size());
+        return ResponseEntity.ok(roomService.updateRatePlan(id, request));
+    }
+
+    /**
+     * Удаление сезонного тарифа номера (только для администраторов)
+     */
+    @DeleteMapping("/{id}/rates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoomDto> deleteRatePlan(@PathVariable Long id) {
+        log.info("Удаление тарифа номера {}", id);
+        return ResponseEntity.ok(roomService.updateRatePlan(id, null));
+    }
+
     /**
      * Получение номера по ID
      */
@@ -49,33 +92,47 @@ public class RoomController {
     }
 
     /**
-     * Получение всех доступных номеров
+     * Получение всех доступных номеров (по умолчанию в порядке алгоритма планирования)
      */
     @GetMapping
-    public ResponseEntity<List<RoomDto>> getAllAvailableRooms() {
+    public ResponseEntity<List<RoomView>> getAllAvailableRooms(
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Получение всех доступных номеров");
-        List<RoomDto> rooms = roomService.getAllAvailableRooms();
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("timesBooked"));
+        return CursorPagination.toResponse(roomService.getAllAvailableRooms(fields, page));
     }
 
     /**
      * Получение номеров отеля
      */
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<RoomDto>> getRoomsByHotelId(@PathVariable Long hotelId) {
+    public ResponseEntity<List<RoomView>> getRoomsByHotelId(
+            @PathVariable Long hotelId,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Получение номеров отеля с ID: {}", hotelId);
-        List<RoomDto> rooms = roomService.getRoomsByHotelId(hotelId);
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("id"));
+        return CursorPagination.toResponse(roomService.getRoomsByHotelId(hotelId, fields, page));
     }
 
     /**
      * Получение доступных номеров отеля
      */
     @GetMapping("/hotel/{hotelId}/available")
-    public ResponseEntity<List<RoomDto>> getAvailableRoomsByHotelId(@PathVariable Long hotelId) {
+    public ResponseEntity<List<RoomView>> getAvailableRoomsByHotelId(
+            @PathVariable Long hotelId,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Получение доступных номеров отеля с ID: {}", hotelId);
-        List<RoomDto> rooms = roomService.getAvailableRoomsByHotelId(hotelId);
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("id"));
+        return CursorPagination.toResponse(roomService.getAvailableRoomsByHotelId(hotelId, fields, page));
     }
 
     /**
@@ -88,35 +145,102 @@ public class RoomController {
         return ResponseEntity.ok(rooms);
     }
 
+    /**
+     * Комбинированный поиск номеров: отель, тип, вместимость, цена, удобства и даты в одном запросе
+     * Пример: /api/rooms/search?hotelId=1&minCapacity=2&maxPrice=8000&amenities=WiFi,сейф&startDate=2025-01-10&endDate=2025-01-12
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<RoomView>> searchRooms(
+            @Valid RoomSearchRequest criteria,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        log.debug("Комбинированный поиск номеров: {}", criteria);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("pricePerNight"));
+        return CursorPagination.toResponse(roomService.searchRooms(criteria, fields, page));
+    }
+
+    /**
+     * Справочник удобств для фильтра amenities
+     */
+    @GetMapping("/amenities")
+    public ResponseEntity<List<AmenityDto>> getAmenities() {
+        return ResponseEntity.ok(Arrays.stream(Amenity.values())
+                .map(amenity -> new AmenityDto(amenity.name(), amenity.getLabel()))
+                .toList());
+    }
+
     /**
      * Поиск номеров по типу
      */
     @GetMapping("/search/type")
-    public ResponseEntity<List<RoomDto>> getRoomsByType(@RequestParam String roomType) {
+    public ResponseEntity<List<RoomView>> getRoomsByType(
+            @RequestParam String roomType,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Поиск номеров по типу: {}", roomType);
-        List<RoomDto> rooms = roomService.getRoomsByType(roomType);
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("id"));
+        return CursorPagination.toResponse(roomService.getRoomsByType(roomType, fields, page));
     }
 
     /**
      * Поиск номеров по вместимости
      */
     @GetMapping("/search/capacity")
-    public ResponseEntity<List<RoomDto>> getRoomsByCapacity(@RequestParam Integer capacity) {
+    public ResponseEntity<List<RoomView>> getRoomsByCapacity(
+            @RequestParam Integer capacity,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Поиск номеров по вместимости: {}", capacity);
-        List<RoomDto> rooms = roomService.getRoomsByCapacity(capacity);
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("capacity"));
+        return CursorPagination.toResponse(roomService.getRoomsByCapacity(capacity, fields, page));
     }
 
     /**
      * Поиск номеров по ценовому диапазону
      */
     @GetMapping("/search/price")
-    public ResponseEntity<List<RoomDto>> getRoomsByPriceRange(@RequestParam Double minPrice, 
-                                                             @RequestParam Double maxPrice) {
+    public ResponseEntity<List<RoomView>> getRoomsByPriceRange(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "full") ListFields fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         log.debug("Поиск номеров по ценовому диапазону: {} - {}", minPrice, maxPrice);
-        List<RoomDto> rooms = roomService.getRoomsByPriceRange(minPrice, maxPrice);
-        return ResponseEntity.ok(rooms);
+        PageQuery page = parsePage(cursor, size, sort, Sort.by("pricePerNight"));
+        return CursorPagination.toResponse(roomService.getRoomsByPriceRange(minPrice, maxPrice, fields, page));
+    }
+
+    /**
+     * Стоимость проживания в номере за период [startDate, endDate)
+     */
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<RoomQuoteDto> getQuote(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Расчет стоимости номера {} на период {} - {}", id, startDate, endDate);
+        return pricingService.quote(id, startDate, endDate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Стоимость проживания в нескольких номерах на одни даты (например, для страницы результатов поиска)
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<RoomQuoteDto>> getQuotes(
+            @RequestParam List<Long> roomIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Расчет стоимости {} номеров на период {} - {}", roomIds.size(), startDate, endDate);
+        return ResponseEntity.ok(pricingService.quote(roomIds, startDate, endDate));
     }
 
     /**
@@ -134,6 +258,7 @@ public class RoomController {
      * Подтверждение доступности номера (внутренний API для Booking Service)
      */
     @PostMapping("/{id}/confirm-availability")
+    @PreAuthorize("hasRole('SERVICE')")
     public ResponseEntity<RoomAvailabilityResponse> confirmRoomAvailability(
             @PathVariable Long id,
             @Valid @RequestBody RoomAvailabilityRequest request) {
@@ -149,10 +274,26 @@ public class RoomController {
      * Освобождение блокировки номера (внутренний API для Booking Service)
      */
     @PostMapping("/{id}/release")
+    @PreAuthorize("hasRole('SERVICE')")
     public ResponseEntity<Void> releaseRoomBlock(@PathVariable Long id, 
                                                 @RequestParam String requestId) {
         log.info("Освобождение блокировки номера {} для запроса {}", id, requestId);
         roomService.releaseRoomBlock(requestId);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Пакетное освобождение блокировок номеров (внутренний API для Booking Service)
+     */
+    @PostMapping("/release")
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<Void> releaseRoomBlocks(@RequestBody List<String> requestIds) {
+        log.info("Пакетное освобождение {} блокировок номеров", requestIds.size());
+        roomService.releaseRoomBlocks(requestIds);
+        return ResponseEntity.ok().build();
+    }
+
+    private PageQuery parsePage(String cursor, Integer size, String sort, Sort defaultSort) {
+        return cursorPagination.parse(cursor, size, sort, Room.class, ROOM_SORTS, defaultSort);
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+/**
+ * Элемент справочника удобств: код для фильтров и отображаемое название
+ */
+public record AmenityDto(String code, String label) {
+}
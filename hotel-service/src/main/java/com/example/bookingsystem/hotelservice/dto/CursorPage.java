@@ -0,0 +1,9 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import java.util.List;
+
+/**
+ * Страница списка с курсором следующей страницы (null, если страница последняя)
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -15,7 +15,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HotelDto {
+public final class HotelDto implements HotelView {
 
     private Long id;
     private String name;
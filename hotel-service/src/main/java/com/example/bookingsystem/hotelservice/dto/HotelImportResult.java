@@ -0,0 +1,37 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Результат массового импорта каталога
+ * completed=false - разбор остановлен на синтаксической ошибке, строки до нее импортированы
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportResult {
+
+    private boolean completed;
+    private int hotelsCreated;
+    private int roomsCreated;
+    private int rejected;
+    private long durationMs;
+    /**
+     * Первые ошибки по записям (порядковый номер записи без учета заголовка CSV и причина)
+     */
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
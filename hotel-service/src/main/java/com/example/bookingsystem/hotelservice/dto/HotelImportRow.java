@@ -0,0 +1,37 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Строка массового импорта каталога: номер вместе с данными его отеля (CSV с заголовком или NDJSON с теми же полями)
+ * Отель определяется парой название + адрес; остальные поля отеля берутся из первой строки с этим отелем.
+ * Строка без roomNumber создает только отель
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"hotelName", "hotelAddress", "hotelDescription", "hotelPhoneNumber", "hotelEmail", "hotelRating",
+        "roomNumber", "roomType", "capacity", "pricePerNight", "roomDescription", "amenities"})
+public class HotelImportRow {
+
+    private String hotelName;
+    private String hotelAddress;
+    private String hotelDescription;
+    private String hotelPhoneNumber;
+    private String hotelEmail;
+    private Double hotelRating;
+
+    private String roomNumber;
+    private String roomType;
+    private Integer capacity;
+    private BigDecimal pricePerNight;
+    private String roomDescription;
+    private String amenities;
+}
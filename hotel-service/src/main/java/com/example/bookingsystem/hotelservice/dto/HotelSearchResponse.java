@@ -0,0 +1,24 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница результатов полнотекстового поиска отелей, упорядоченная по релевантности
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSearchResponse {
+
+    private String query;
+    private int page;
+    private int size;
+    private long totalElements;
+    private List<HotelDto> hotels;
+}
@@ -0,0 +1,11 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+/**
+ * Краткое представление отеля для списков (без описания, контактов и номеров)
+ */
+public record HotelSummaryDto(
+        Long id,
+        String name,
+        String address,
+        Double rating) implements HotelView {
+}
@@ -0,0 +1,10 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Отель в ответах списков: полное (fields=full) или краткое (fields=summary) представление
+ */
+@Schema(oneOf = {HotelDto.class, HotelSummaryDto.class})
+public sealed interface HotelView permits HotelDto, HotelSummaryDto {
+}
@@ -0,0 +1,18 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+/**
+ * Набор полей в ответах списков (параметр запроса fields)
+ * SUMMARY выбирается проекцией только нужных колонок, без загрузки сущностей в контекст персистентности
+ */
+public enum ListFields {
+
+    /**
+     * Полное представление (описание, удобства, номера отеля)
+     */
+    FULL,
+
+    /**
+     * Краткое представление для витрин и списков
+     */
+    SUMMARY
+}
@@ -0,0 +1,25 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO для установки сезонного тарифа номера
+ * Сезоны не должны пересекаться; ночи между сезонами и вне их оплачиваются по базовой цене номера
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatePlanRequest {
+
+    @NotEmpty(message = "Тариф должен содержать хотя бы один сезон")
+    @Valid
+    private List<RateSeasonDto> seasons;
+}
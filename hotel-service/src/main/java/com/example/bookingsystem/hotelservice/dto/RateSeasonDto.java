@@ -0,0 +1,31 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO сезона тарифа: цена за ночь для ночей [startDate, endDate)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateSeasonDto {
+
+    @NotNull(message = "Дата начала сезона не может быть пустой")
+    private LocalDate startDate;
+
+    @NotNull(message = "Дата окончания сезона не может быть пустой")
+    private LocalDate endDate;
+
+    @NotNull(message = "Цена за ночь не может быть пустой")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Цена за ночь должна быть больше 0")
+    private BigDecimal pricePerNight;
+}
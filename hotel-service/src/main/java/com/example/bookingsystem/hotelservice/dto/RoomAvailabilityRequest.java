@@ -1,5 +1,6 @@
 package com.example.bookingsystem.hotelservice.dto;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,4 +28,9 @@ public class RoomAvailabilityRequest {
     private Long roomId;
 
     private String requestId; // Для идемпотентности
+
+    @AssertTrue(message = "Дата выезда должна быть позже даты заезда")
+    public boolean isDateRangeValid() {
+        return startDate == null || endDate == null || endDate.isAfter(startDate);
+    }
 }
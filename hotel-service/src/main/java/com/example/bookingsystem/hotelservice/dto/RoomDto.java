@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RoomDto {
+public final class RoomDto implements RoomView {
 
     private Long id;
     private Long hotelId;
@@ -27,6 +27,10 @@ public class RoomDto {
     private String amenities;
     private Boolean available;
     private Integer timesBooked;
+    /**
+     * Стоимость проживания за период поиска (заполняется, если в поиске указаны даты)
+     */
+    private BigDecimal stayTotal;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,10 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Базовая цена и сезонный тариф номера для расчета стоимости проживания
+ */
+public record RoomRateEntry(Long roomId, Long hotelId, BigDecimal pricePerNight,
+                            Long rateOriginDay, long[] rateNightTotals) {
+}
@@ -0,0 +1,61 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Критерии комбинированного поиска номеров (все поля необязательные, заданные объединяются по И)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchRequest {
+
+    private Long hotelId;
+
+    private String roomType;
+
+    @Min(value = 1, message = "Вместимость должна быть не менее 1")
+    private Integer minCapacity;
+
+    @DecimalMin(value = "0.0", message = "Минимальная цена не может быть отрицательной")
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0.0", message = "Максимальная цена не может быть отрицательной")
+    private BigDecimal maxPrice;
+
+    /**
+     * Удобства (коды или названия из справочника), которые должны быть в номере все одновременно
+     */
+    private List<String> amenities;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    @AssertTrue(message = "Минимальная цена не может превышать максимальную")
+    public boolean isPriceRangeValid() {
+        return minPrice == null || maxPrice == null || minPrice.compareTo(maxPrice) <= 0;
+    }
+
+    @AssertTrue(message = "Даты заезда и выезда задаются вместе, выезд позже заезда")
+    public boolean isDateRangeValid() {
+        if (startDate == null && endDate == null) {
+            return true;
+        }
+        return startDate != null && endDate != null && endDate.isAfter(startDate);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Краткое представление номера для списков (без описания, удобств и служебных дат)
+ * Содержит все поля, допустимые для сортировки: по ним строится курсор keyset пагинации
+ */
+public record RoomSummaryDto(
+        Long id,
+        Long hotelId,
+        String roomNumber,
+        String roomType,
+        Integer capacity,
+        BigDecimal pricePerNight,
+        Boolean available,
+        Integer timesBooked) implements RoomView {
+}
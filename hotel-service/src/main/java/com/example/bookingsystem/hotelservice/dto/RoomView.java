@@ -0,0 +1,10 @@
+package com.example.bookingsystem.hotelservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Номер в ответах списков: полное (fields=full) или краткое (fields=summary) представление
+ */
+@Schema(oneOf = {RoomDto.class, RoomSummaryDto.class})
+public sealed interface RoomView permits RoomDto, RoomSummaryDto {
+}
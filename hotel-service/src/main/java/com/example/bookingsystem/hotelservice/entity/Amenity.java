@@ -0,0 +1,131 @@
+package com.example.bookingsystem.hotelservice.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Справочник удобств номера
+ * Набор удобств номера хранится битовой маской (Room.amenityMask): бит удобства задан явно
+ * и не должен меняться, новые удобства добавляются со следующим свободным битом
+ */
+public enum Amenity {
+
+    WIFI(0, "WiFi"),
+    MINIBAR(1, "мини-бар"),
+    AIR_CONDITIONING(2, "кондиционер"),
+    SAFE(3, "сейф"),
+    SOFA(4, "диван"),
+    WORK_DESK(5, "рабочий стол"),
+    BALCONY(6, "балкон"),
+    PROJECTOR(7, "проектор"),
+    FLIPCHART(8, "флипчарт"),
+    COFFEE_BREAK(9, "кофе-брейк");
+
+    private static final Map<String, Amenity> BY_KEY = Stream.of(values())
+            .flatMap(amenity -> Stream.of(
+                    Map.entry(normalize(amenity.name()), amenity),
+                    Map.entry(normalize(amenity.label), amenity)))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (code, label) -> code));
+
+    private final long bit;
+    private final String label;
+
+    Amenity(int bitIndex, String label) {
+        this.bit = 1L << bitIndex;
+        this.label = label;
+    }
+
+    public long getBit() {
+        return bit;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Удобство по коду (WIFI) или названию (WiFi, сейф) без учета регистра
+     *
+     * @throws IllegalArgumentException если удобство отсутствует в справочнике
+     */
+    public static Amenity of(String value) {
+        Amenity amenity = BY_KEY.get(normalize(value));
+        if (amenity == null) {
+            throw new IllegalArgumentException("Неизвестное удобство: " + value.trim());
+        }
+        return amenity;
+    }
+
+    /**
+     * Маска набора удобств
+     */
+    public static long maskOf(Collection<Amenity> amenities) {
+        long mask = 0L;
+        for (Amenity amenity : amenities) {
+            mask |= amenity.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Маска из перечня названий через запятую ("WiFi, кондиционер, сейф")
+     */
+    public static long parseMask(String amenities) {
+        if (amenities == null || amenities.isBlank()) {
+            return 0L;
+        }
+        return maskOf(Stream.of(amenities.split(","))
+                .filter(value -> !value.isBlank())
+                .map(Amenity::of)
+                .toList());
+    }
+
+    /**
+     * Маска из списка названий или кодов
+     */
+    public static long parseMask(Collection<String> amenities) {
+        return maskOf(amenities.stream()
+                .filter(value -> !value.isBlank())
+                .map(Amenity::of)
+                .toList());
+    }
+
+    /**
+     * Удобства, входящие в маску, в порядке справочника
+     */
+    public static List<Amenity> fromMask(long mask) {
+        List<Amenity> result = new ArrayList<>();
+        for (Amenity amenity : values()) {
+            if ((mask & amenity.bit) != 0) {
+                result.add(amenity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Перечень названий удобств маски через запятую
+     */
+    public static String formatMask(long mask) {
+        return fromMask(mask).stream()
+                .map(Amenity::getLabel)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Номер с маской roomMask содержит все удобства маски required
+     */
+    public static boolean containsAll(long roomMask, long required) {
+        return (roomMask & required) == required;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.bookingsystem.hotelservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сезонный тариф номера
+ * Хранится как префиксные суммы цен ночей в копейках от начального дня (epoch day):
+ * nightTotals[i] - стоимость ночей [originDay, originDay + i). Стоимость любого периода - разность
+ * двух элементов массива, ночи вне горизонта тарифа оплачиваются по базовой цене номера
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class RatePlan {
+
+    /**
+     * Максимальный горизонт тарифа в ночах
+     */
+    public static final int MAX_NIGHTS = 731;
+
+    private static final int MINOR_UNITS = 2;
+
+    @Column(name = "rate_origin_day")
+    private Long originDay;
+
+    @Column(name = "rate_night_totals")
+    private long[] nightTotals;
+
+    /**
+     * Сезон тарифа: цена за ночь для ночей [startDate, endDate)
+     */
+    public record Season(LocalDate startDate, LocalDate endDate, BigDecimal pricePerNight) {
+    }
+
+    /**
+     * Построение тарифа из сезонов; ночи между сезонами оплачиваются по базовой цене
+     */
+    public static RatePlan compile(BigDecimal basePrice, List<Season> seasons) {
+        if (seasons.isEmpty()) {
+            throw new IllegalArgumentException("Тариф должен содержать хотя бы один сезон");
+        }
+        // Проверка до расчета горизонта: перевернутый сезон дал бы отрицательный размер массива
+        for (Season season : seasons) {
+            if (!season.endDate().isAfter(season.startDate())) {
+                throw new IllegalArgumentException("Сезон " + season.startDate() + " - " + season.endDate()
+                        + ": дата окончания должна быть позже даты начала");
+            }
+        }
+        List<Season> sorted = new ArrayList<>(seasons);
+        sorted.sort(Comparator.comparing(Season::startDate));
+
+        long origin = sorted.get(0).startDate().toEpochDay();
+        long horizon = sorted.stream().mapToLong(season -> season.endDate().toEpochDay()).max().orElseThrow();
+        if (horizon - origin > MAX_NIGHTS) {
+            throw new IllegalArgumentException("Горизонт тарифа не может превышать " + MAX_NIGHTS + " ночей");
+        }
+
+        long[] nightly = new long[(int) (horizon - origin)];
+        Arrays.fill(nightly, toMinorUnits(basePrice));
+        long coveredUntil = origin;
+        for (Season season : sorted) {
+            long start = season.startDate().toEpochDay();
+            long end = season.endDate().toEpochDay();
+            if (start < coveredUntil) {
+                throw new IllegalArgumentException("Сезон с " + season.startDate() + " пересекается с предыдущим");
+            }
+            long rate = toMinorUnits(season.pricePerNight());
+            for (long day = start; day < end; day++) {
+                nightly[(int) (day - origin)] = rate;
+            }
+            coveredUntil = end;
+        }
+
+        long[] totals = new long[nightly.length + 1];
+        for (int i = 0; i < nightly.length; i++) {
+            totals[i + 1] = totals[i] + nightly[i];
+        }
+        return new RatePlan(origin, totals);
+    }
+
+    /**
+     * Стоимость ночей [startDay, endDay) в копейках; baseNightly - базовая цена ночи вне тарифа
+     * Тариф может отсутствовать (originDay == null), тогда все ночи по базовой цене
+     */
+    public static long stayTotal(long baseNightly, Long originDay, long[] nightTotals, long startDay, long endDay) {
+        long nights = endDay - startDay;
+        if (originDay == null || nightTotals == null || nightTotals.length < 2) {
+            return baseNightly * nights;
+        }
+        long planEnd = originDay + nightTotals.length - 1;
+        long from = Math.min(Math.max(startDay, originDay), planEnd);
+        long to = Math.min(Math.max(endDay, originDay), planEnd);
+        long planned = nightTotals[(int) (to - originDay)] - nightTotals[(int) (from - originDay)];
+        return planned + baseNightly * (nights - (to - from));
+    }
+
+    /**
+     * Цена в копейках
+     */
+    public static long toMinorUnits(BigDecimal price) {
+        return price.setScale(MINOR_UNITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Цена из копеек
+     */
+    public static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, MINOR_UNITS);
+    }
+}
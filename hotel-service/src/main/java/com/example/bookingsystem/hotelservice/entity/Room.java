@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -14,7 +17,10 @@ import java.time.LocalDateTime;
  * Содержит информацию о номере и статистику бронирований
  */
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        // Поиск доступных номеров по ценовому диапазону с сортировкой по цене
+        @Index(name = "idx_rooms_available_price", columnList = "available, price_per_night")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,13 +28,22 @@ import java.time.LocalDateTime;
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Hotel hotel;
 
+    /**
+     * Внешний ключ отеля, читаемый вместе со строкой номера без обращения к ленивой связи hotel
+     */
+    @Column(name = "hotel_id", insertable = false, updatable = false)
+    private Long hotelId;
+
     @Column(name = "room_number", nullable = false, length = 20)
     private String roomNumber;
 
@@ -41,11 +56,21 @@ public class Room {
     @Column(name = "price_per_night", nullable = false, precision = 10, scale = 2)
     private BigDecimal pricePerNight;
 
+    /**
+     * Сезонный тариф; без тарифа все ночи оплачиваются по pricePerNight
+     */
+    @Embedded
+    private RatePlan ratePlan;
+
     @Column(name = "description", length = 1000)
     private String description;
 
-    @Column(name = "amenities", length = 1000)
-    private String amenities;
+    /**
+     * Набор удобств номера: битовая маска по справочнику Amenity
+     */
+    @Column(name = "amenity_mask", nullable = false)
+    @Builder.Default
+    private Long amenityMask = 0L;
 
     @Column(name = "available", nullable = false)
     @Builder.Default
@@ -63,6 +88,9 @@ public class Room {
 
     @PrePersist
     protected void onCreate() {
+        if (hotel != null) {
+            hotelId = hotel.getId();
+        }
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -72,6 +100,16 @@ public class Room {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Стоимость проживания за ночи [startDate, endDate) с учетом сезонного тарифа
+     */
+    public BigDecimal stayTotal(LocalDate startDate, LocalDate endDate) {
+        return RatePlan.fromMinorUnits(RatePlan.stayTotal(RatePlan.toMinorUnits(pricePerNight),
+                ratePlan != null ? ratePlan.getOriginDay() : null,
+                ratePlan != null ? ratePlan.getNightTotals() : null,
+                startDate.toEpochDay(), endDate.toEpochDay()));
+    }
+
     /**
      * Увеличивает счетчик бронирований
      */
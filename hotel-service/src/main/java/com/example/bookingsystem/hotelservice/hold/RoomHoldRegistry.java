@@ -0,0 +1,319 @@
+package com.example.bookingsystem.hotelservice.hold;
+
+import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Временные блокировки номеров (шаг подтверждения доступности в саге бронирования)
+ * Блокировка живет не дольше TTL: если Booking Service упал между подтверждением и освобождением,
+ * блокировка снимается сама. Очередь истечения упорядочена по сроку: истечение - снятие с головы,
+ * досрочное снятие удаляет запись из очереди за O(log n). Лимит относится к активным блокировкам:
+ * место резервируется атомарно до вставки, поэтому конкурентные запросы не превышают лимит,
+ * а поток повторных или новых запросов не может неограниченно занять память.
+ * Блокировки проиндексированы по ночам проживания: индекс отвечает на поиск свободных номеров и не дает
+ * поставить вторую блокировку того же номера на пересекающиеся ночи (проверка и вставка атомарны для номера).
+ * Каждая ночь - запись индекса, поэтому период блокировки ограничен max-nights
+ */
+@Component
+@Slf4j
+public class RoomHoldRegistry {
+
+    /**
+     * Результат постановки блокировки
+     */
+    public enum HoldResult {
+        /** Блокировка поставлена или уже существует с тем же requestId */
+        HELD,
+        /** Номер заблокирован другим запросом на пересекающиеся ночи */
+        CONFLICT,
+        /** Лимит активных блокировок исчерпан */
+        LIMIT_EXCEEDED
+    }
+
+    private static final int ROOM_LOCK_STRIPES = 64;
+
+    private final Duration ttl;
+    private final int maxHolds;
+    private final int maxNights;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final NavigableSet<Hold> expiryQueue = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Hold::deadline).thenComparingLong(Hold::sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<LocalDate, Set<Hold>> holdsByNight = new ConcurrentHashMap<>();
+    private final Object[] roomLocks = new Object[ROOM_LOCK_STRIPES];
+
+    private final Counter expiredCounter;
+    private final Counter rejectedCounter;
+    private final ScheduledExecutorService sweeper;
+
+    public RoomHoldRegistry(MeterRegistry meterRegistry,
+                            @Value("${hotel.holds.ttl:10m}") Duration ttl,
+                            @Value("${hotel.holds.max-holds:100000}") int maxHolds,
+                            @Value("${hotel.holds.max-nights:30}") int maxNights,
+                            @Value("${hotel.holds.sweep-interval:1s}") Duration sweepInterval) {
+        this.ttl = ttl;
+        this.maxHolds = maxHolds;
+        this.maxNights = maxNights;
+        for (int i = 0; i < roomLocks.length; i++) {
+            roomLocks[i] = new Object();
+        }
+
+        Gauge.builder("hotel.room.holds.active", active, AtomicInteger::get)
+                .description("Активные временные блокировки номеров")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("hotel.room.holds.expired")
+                .description("Блокировки, снятые по истечении TTL")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("hotel.room.holds.rejected")
+                .description("Блокировки, отклоненные из-за переполнения")
+                .register(meterRegistry);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                expireDue(System.nanoTime());
+            } catch (RuntimeException e) {
+                log.error("Ошибка при снятии истекших блокировок: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Проверка периода блокировки: выезд позже заезда, не более max-nights ночей
+     *
+     * @throws IllegalArgumentException если период некорректен или слишком длинный
+     */
+    public void checkPeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Дата выезда должна быть позже даты заезда");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > maxNights) {
+            throw new IllegalArgumentException("Период блокировки не может превышать " + maxNights + " ночей");
+        }
+    }
+
+    /**
+     * Постановка блокировки
+     *
+     * @return HELD, CONFLICT при пересечении с блокировкой того же номера или LIMIT_EXCEEDED
+     * @throws IllegalArgumentException если период блокировки некорректен или слишком длинный
+     */
+    public HoldResult hold(String requestId, RoomAvailabilityRequest request) {
+        checkPeriod(request.getStartDate(), request.getEndDate());
+        if (holds.containsKey(requestId)) {
+            return HoldResult.HELD;
+        }
+        if (!reserveSlot()) {
+            rejectedCounter.increment();
+            log.warn("Лимит временных блокировок ({}) исчерпан, запрос {} отклонен", maxHolds, requestId);
+            return HoldResult.LIMIT_EXCEEDED;
+        }
+        Hold hold = new Hold(requestId, request, System.nanoTime() + ttl.toNanos(), sequence.incrementAndGet());
+        // Индексируется до публикации: снятие, увидевшее блокировку, всегда найдет ее в очереди и в индексе
+        synchronized (roomLock(request.getRoomId())) {
+            if (isHeld(request.getRoomId(), request.getStartDate(), request.getEndDate(), requestId)) {
+                active.decrementAndGet();
+                return HoldResult.CONFLICT;
+            }
+            indexNights(hold);
+        }
+        expiryQueue.add(hold);
+        if (holds.putIfAbsent(requestId, hold) != null) {
+            expiryQueue.remove(hold);
+            unindexNights(hold);
+            active.decrementAndGet();
+        }
+        return HoldResult.HELD;
+    }
+
+    /**
+     * Номер заблокирован на какую-либо ночь периода [startDate, endDate)
+     */
+    public boolean isHeld(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return isHeld(roomId, startDate, endDate, null);
+    }
+
+    /**
+     * Блокировка с указанным requestId активна
+     */
+    public boolean contains(String requestId) {
+        return holds.containsKey(requestId);
+    }
+
+    /**
+     * Досрочное снятие блокировки
+     *
+     * @return данные снятой блокировки или null, если ее нет (снята ранее или истекла)
+     */
+    public RoomAvailabilityRequest release(String requestId) {
+        Hold hold = holds.remove(requestId);
+        if (hold == null) {
+            return null;
+        }
+        expiryQueue.remove(hold);
+        unindexNights(hold);
+        active.decrementAndGet();
+        return hold.request();
+    }
+
+    /**
+     * Номера с блокировками, пересекающимися с периодом [startDate, endDate)
+     * Просматриваются только ночи периода по индексу; полный перебор - лишь если ночей больше, чем блокировок
+     */
+    public Set<Long> blockedRoomIds(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            return Set.of();
+        }
+        Set<Long> roomIds = new HashSet<>();
+        if (ChronoUnit.DAYS.between(startDate, endDate) > holds.size()) {
+            for (Hold hold : holds.values()) {
+                RoomAvailabilityRequest block = hold.request();
+                if (block.getStartDate().isBefore(endDate) && startDate.isBefore(block.getEndDate())) {
+                    roomIds.add(block.getRoomId());
+                }
+            }
+            return roomIds;
+        }
+        for (LocalDate night = startDate; night.isBefore(endDate); night = night.plusDays(1)) {
+            Set<Hold> held = holdsByNight.get(night);
+            if (held != null) {
+                held.forEach(hold -> roomIds.add(hold.request().getRoomId()));
+            }
+        }
+        return roomIds;
+    }
+
+    /**
+     * Количество активных блокировок
+     */
+    public int size() {
+        return active.get();
+    }
+
+    /**
+     * Снятие блокировок со сроком не позже now (значение System.nanoTime())
+     *
+     * @return количество снятых блокировок
+     */
+    synchronized int expireDue(long now) {
+        int expired = 0;
+        for (Iterator<Hold> queue = expiryQueue.iterator(); queue.hasNext(); ) {
+            Hold head = queue.next();
+            if (head.deadline() - now > 0) {
+                break;
+            }
+            queue.remove();
+            // Блокировку могли одновременно снять досрочно: счетчик уменьшает тот, кто удалил ее из holds
+            if (holds.remove(head.requestId(), head)) {
+                unindexNights(head);
+                active.decrementAndGet();
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            expiredCounter.increment(expired);
+            log.info("Снято {} временных блокировок по истечении {}", expired, ttl);
+        }
+        return expired;
+    }
+
+    /**
+     * Пересечение с блокировкой номера по индексу ночей; блокировка с тем же requestId (повтор) не считается
+     */
+    private boolean isHeld(Long roomId, LocalDate startDate, LocalDate endDate, String requestId) {
+        for (LocalDate night = startDate; night.isBefore(endDate); night = night.plusDays(1)) {
+            Set<Hold> held = holdsByNight.get(night);
+            if (held == null) {
+                continue;
+            }
+            for (Hold hold : held) {
+                if (hold.request().getRoomId().equals(roomId) && !hold.requestId().equals(requestId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Object roomLock(Long roomId) {
+        return roomLocks[Math.floorMod(roomId.hashCode(), roomLocks.length)];
+    }
+
+    private void indexNights(Hold hold) {
+        RoomAvailabilityRequest block = hold.request();
+        for (LocalDate night = block.getStartDate(); night.isBefore(block.getEndDate()); night = night.plusDays(1)) {
+            holdsByNight.compute(night, (key, held) -> {
+                Set<Hold> result = held != null ? held : ConcurrentHashMap.newKeySet();
+                result.add(hold);
+                return result;
+            });
+        }
+    }
+
+    private void unindexNights(Hold hold) {
+        RoomAvailabilityRequest block = hold.request();
+        for (LocalDate night = block.getStartDate(); night.isBefore(block.getEndDate()); night = night.plusDays(1)) {
+            holdsByNight.computeIfPresent(night, (key, held) -> {
+                held.remove(hold);
+                return held.isEmpty() ? null : held;
+            });
+        }
+    }
+
+    /**
+     * Резервирование места под блокировку (CAS), при исчерпании лимита - после снятия истекших
+     */
+    private boolean reserveSlot() {
+        boolean expired = false;
+        while (true) {
+            int current = active.get();
+            if (current >= maxHolds) {
+                if (expired) {
+                    return false;
+                }
+                expireDue(System.nanoTime());
+                expired = true;
+            } else if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private record Hold(String requestId, RoomAvailabilityRequest request, long deadline, long sequence) {
+    }
+}
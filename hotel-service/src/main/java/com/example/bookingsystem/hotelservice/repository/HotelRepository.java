@@ -1,6 +1,11 @@
 package com.example.bookingsystem.hotelservice.repository;
 
 import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.search.HotelSearchDocument;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,9 +26,10 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     Optional<Hotel> findByName(String name);
 
     /**
-     * Поиск отелей по адресу
+     * Идентификатор отеля по названию и адресу (уникальный индекс uq_hotels_name_address)
      */
-    List<Hotel> findByAddressContainingIgnoreCase(String address);
+    @Query("SELECT h.id FROM Hotel h WHERE h.name = :name AND h.address = :address")
+    Optional<Long> findIdByNameAndAddress(@Param("name") String name, @Param("address") String address);
 
     /**
      * Поиск отелей с рейтингом выше указанного
@@ -32,8 +38,24 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     List<Hotel> findByRatingGreaterThanEqualOrderByRatingDesc(@Param("minRating") Double minRating);
 
     /**
-     * Поиск отелей по названию (частичное совпадение)
+     * Поля всех отелей для построения поискового индекса (без загрузки номеров)
      */
-    @Query("SELECT h FROM Hotel h WHERE LOWER(h.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Hotel> findByNameContainingIgnoreCase(@Param("name") String name);
+    @Query("SELECT new com.example.bookingsystem.hotelservice.search.HotelSearchDocument(h.id, h.name, h.address, h.rating) FROM Hotel h")
+    List<HotelSearchDocument> findAllSearchDocuments();
+
+    /**
+     * Поля отеля для обновления поискового индекса
+     */
+    @Query("SELECT new com.example.bookingsystem.hotelservice.search.HotelSearchDocument(h.id, h.name, h.address, h.rating) FROM Hotel h WHERE h.id = :id")
+    Optional<HotelSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    /**
+     * Страница отелей в виде указанной проекции
+     */
+    <T> Window<T> findAllBy(ScrollPosition position, Sort sort, Limit limit, Class<T> type);
+
+    /**
+     * Отели с рейтингом выше указанного в виде указанной проекции
+     */
+    <T> List<T> findByRatingGreaterThanEqualOrderByRatingDesc(Double minRating, Class<T> type);
 }
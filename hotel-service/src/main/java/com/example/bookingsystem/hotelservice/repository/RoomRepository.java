@@ -1,68 +1,113 @@
 package com.example.bookingsystem.hotelservice.repository;
 
+import com.example.bookingsystem.hotelservice.dto.RoomRateEntry;
 import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.search.RoomPriceEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Репозиторий для работы с номерами
+ * Запросы не обращаются к связи hotel: ID отеля читается из колонки hotel_id (Room.hotelId)
  */
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
 
     /**
-     * Поиск номеров по отелю
+     * ID отеля номера без загрузки сущностей
      */
-    List<Room> findByHotelId(Long hotelId);
+    @Query("SELECT r.hotelId FROM Room r WHERE r.id = :id")
+    Optional<Long> findHotelIdById(@Param("id") Long id);
 
     /**
-     * Поиск доступных номеров в отеле
+     * Цены всех доступных номеров для построения ценового индекса
      */
-    List<Room> findByHotelIdAndAvailableTrue(Long hotelId);
+    @Query("SELECT new com.example.bookingsystem.hotelservice.search.RoomPriceEntry(r.id, r.hotelId, r.pricePerNight) " +
+           "FROM Room r WHERE r.available = true")
+    List<RoomPriceEntry> findAllPriceEntries();
+
+    /**
+     * Цены доступных номеров отеля для обновления ценового индекса
+     */
+    @Query("SELECT new com.example.bookingsystem.hotelservice.search.RoomPriceEntry(r.id, r.hotelId, r.pricePerNight) " +
+           "FROM Room r WHERE r.hotelId = :hotelId AND r.available = true")
+    List<RoomPriceEntry> findPriceEntriesByHotelId(@Param("hotelId") Long hotelId);
+
+    /**
+     * Цены и тарифы указанных номеров для расчета стоимости проживания
+     */
+    @Query("SELECT new com.example.bookingsystem.hotelservice.dto.RoomRateEntry(r.id, r.hotelId, r.pricePerNight, " +
+           "r.ratePlan.originDay, r.ratePlan.nightTotals) FROM Room r WHERE r.id IN :ids")
+    List<RoomRateEntry> findRateEntriesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Поиск номера по номеру комнаты и отелю
      */
     Optional<Room> findByHotelIdAndRoomNumber(Long hotelId, String roomNumber);
 
+    /**
+     * Номера комнат отеля (проверка уникальности при импорте одним запросом)
+     */
+    @Query("SELECT r.roomNumber FROM Room r WHERE r.hotelId = :hotelId")
+    List<String> findRoomNumbersByHotelId(@Param("hotelId") Long hotelId);
+
     /**
      * Получение рекомендованных номеров (отсортированных по times_booked)
      */
-    @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId AND r.available = true " +
+    @Query("SELECT r FROM Room r WHERE r.hotelId = :hotelId AND r.available = true " +
            "ORDER BY r.timesBooked ASC, r.id ASC")
     List<Room> findRecommendedRoomsByHotelId(@Param("hotelId") Long hotelId);
 
     /**
-     * Получение всех доступных номеров (отсортированных по times_booked для алгоритма планирования)
+     * Получение статистики загруженности номеров
      */
-    @Query("SELECT r FROM Room r WHERE r.available = true ORDER BY r.timesBooked ASC, r.id ASC")
-    List<Room> findAllAvailableRooms();
+    @Query("SELECT r FROM Room r WHERE r.hotelId = :hotelId ORDER BY r.timesBooked DESC")
+    List<Room> findRoomsByHotelIdOrderByTimesBookedDesc(@Param("hotelId") Long hotelId);
 
     /**
-     * Поиск номеров по типу
+     * Страница номеров отеля в виде указанной проекции
      */
-    List<Room> findByRoomTypeAndAvailableTrue(String roomType);
+    <T> Window<T> findByHotelId(Long hotelId, ScrollPosition position, Sort sort, Limit limit, Class<T> type);
 
     /**
-     * Поиск номеров по вместимости
+     * Страница доступных номеров отеля в виде указанной проекции
      */
-    @Query("SELECT r FROM Room r WHERE r.capacity >= :capacity AND r.available = true")
-    List<Room> findByCapacityGreaterThanEqualAndAvailableTrue(@Param("capacity") Integer capacity);
+    <T> Window<T> findByHotelIdAndAvailableTrue(Long hotelId, ScrollPosition position, Sort sort, Limit limit,
+                                                Class<T> type);
 
     /**
-     * Поиск номеров по ценовому диапазону
+     * Страница всех доступных номеров в виде указанной проекции
      */
-    @Query("SELECT r FROM Room r WHERE r.pricePerNight BETWEEN :minPrice AND :maxPrice AND r.available = true")
-    List<Room> findByPriceRangeAndAvailableTrue(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
+    <T> Window<T> findByAvailableTrue(ScrollPosition position, Sort sort, Limit limit, Class<T> type);
 
     /**
-     * Получение статистики загруженности номеров
+     * Страница доступных номеров по типу в виде указанной проекции
      */
-    @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId ORDER BY r.timesBooked DESC")
-    List<Room> findRoomsByHotelIdOrderByTimesBookedDesc(@Param("hotelId") Long hotelId);
+    <T> Window<T> findByRoomTypeAndAvailableTrue(String roomType, ScrollPosition position, Sort sort, Limit limit,
+                                                 Class<T> type);
+
+    /**
+     * Страница доступных номеров по вместимости в виде указанной проекции
+     */
+    <T> Window<T> findByCapacityGreaterThanEqualAndAvailableTrue(Integer capacity, ScrollPosition position, Sort sort,
+                                                                 Limit limit, Class<T> type);
+
+    /**
+     * Страница доступных номеров в ценовом диапазоне в виде указанной проекции
+     */
+    <T> Window<T> findByPricePerNightBetweenAndAvailableTrue(BigDecimal minPrice, BigDecimal maxPrice,
+                                                             ScrollPosition position, Sort sort, Limit limit,
+                                                             Class<T> type);
 }
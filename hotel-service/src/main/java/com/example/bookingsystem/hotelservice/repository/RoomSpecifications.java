@@ -0,0 +1,61 @@
+package com.example.bookingsystem.hotelservice.repository;
+
+import com.example.bookingsystem.hotelservice.dto.RoomSearchRequest;
+import com.example.bookingsystem.hotelservice.entity.Amenity;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Спецификации комбинированного поиска номеров
+ * Все заданные критерии собираются в один WHERE, поэтому поиск - один запрос с LIMIT в базе
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    /**
+     * Доступные номера, удовлетворяющие критериям и не заблокированные на запрошенные даты
+     *
+     * @param blockedRoomIds номера, временно заблокированные на пересекающиеся даты
+     */
+    public static Specification<Room> matching(RoomSearchRequest criteria, Collection<Long> blockedRoomIds) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("available")));
+
+            if (criteria.getHotelId() != null) {
+                predicates.add(cb.equal(root.get("hotelId"), criteria.getHotelId()));
+            }
+            if (criteria.getRoomType() != null && !criteria.getRoomType().isBlank()) {
+                predicates.add(cb.equal(root.get("roomType"), criteria.getRoomType()));
+            }
+            if (criteria.getMinCapacity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("capacity"), criteria.getMinCapacity()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("pricePerNight"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("pricePerNight"), criteria.getMaxPrice()));
+            }
+            if (criteria.getAmenities() != null && !criteria.getAmenities().isEmpty()) {
+                // Все запрошенные удобства: (amenity_mask & required) = required
+                long required = Amenity.parseMask(criteria.getAmenities());
+                predicates.add(cb.equal(
+                        cb.function("bitand", Long.class, root.get("amenityMask"), cb.literal(required)),
+                        required));
+            }
+            if (!blockedRoomIds.isEmpty()) {
+                predicates.add(cb.not(root.get("id").in(blockedRoomIds)));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookingsystem.hotelservice.search;
+
+/**
+ * Поля отеля, участвующие в полнотекстовом поиске
+ */
+public record HotelSearchDocument(Long id, String name, String address, Double rating) {
+}
@@ -0,0 +1,7 @@
+package com.example.bookingsystem.hotelservice.search;
+
+/**
+ * Результат поиска по индексу: ID отеля и релевантность от 0 до 1
+ */
+public record HotelSearchHit(Long hotelId, double score) {
+}
@@ -0,0 +1,316 @@
+package com.example.bookingsystem.hotelservice.search;
+
+import com.example.bookingsystem.hotelservice.cache.CatalogSeededEvent;
+import com.example.bookingsystem.hotelservice.cache.HotelChangedEvent;
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный триграммный индекс по названию и адресу отелей
+ * Заменяет LIKE '%...%' (полный просмотр таблицы): запрос разбивается на триграммы слов,
+ * релевантность - доля триграмм запроса, найденных в поле. Опечатка портит лишь несколько триграмм,
+ * поэтому документ остается в выдаче с меньшим весом. Подстрока из середины слова ("ска" в "Тверская"),
+ * которую находил LIKE, проверяется только у документов, содержащих все внутренние триграммы запроса
+ * (пересечение списков индекса), без просмотра всех документов.
+ * Индекс обновляется после фиксации изменений отеля
+ */
+@Component
+@Slf4j
+public class HotelSearchIndex {
+
+    /**
+     * Индексируемые поля
+     */
+    public enum Field {
+        NAME(1.0),
+        ADDRESS(0.9);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int GRAM = 3;
+
+    private final HotelRepository hotelRepository;
+    private final double minScore;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, HotelSearchDocument> documents = new HashMap<>();
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+    private final Map<Field, Map<Long, String>> texts = new EnumMap<>(Field.class);
+
+    private volatile boolean ready;
+
+    public HotelSearchIndex(HotelRepository hotelRepository,
+                            @Value("${hotel.search.min-score:0.5}") double minScore) {
+        this.hotelRepository = hotelRepository;
+        this.minScore = minScore;
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+            texts.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Полное построение индекса после старта (в т.ч. после загрузки тестовых данных) и после фонового заполнения
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogSeededEvent.class})
+    public void rebuild() {
+        List<HotelSearchDocument> all = hotelRepository.findAllSearchDocuments();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            texts.values().forEach(Map::clear);
+            all.forEach(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Поисковый индекс отелей построен: {} документов", all.size());
+    }
+
+    /**
+     * Обновление индекса после фиксации изменения отеля
+     * Выполняется раньше очистки кэша, чтобы кэш не заполнился результатами из старого индекса
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        reindex(event.hotelId());
+    }
+
+    /**
+     * Переиндексация отеля по текущему состоянию в базе
+     */
+    public void reindex(Long hotelId) {
+        hotelRepository.findSearchDocumentById(hotelId)
+                .ifPresentOrElse(this::index, () -> remove(hotelId));
+    }
+
+    /**
+     * Поиск по указанным полям; результат упорядочен по релевантности, затем по рейтингу
+     */
+    public List<HotelSearchHit> search(String query, Set<Field> fields) {
+        Set<String> queryGrams = grams(query, false);
+        if (queryGrams.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String substring = normalize(query).strip();
+        Set<String> innerGrams = innerGrams(query);
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Field field : fields) {
+                Map<Long, Integer> matched = new HashMap<>();
+                Map<String, Set<Long>> fieldPostings = postings.get(field);
+                for (String gram : queryGrams) {
+                    Set<Long> ids = fieldPostings.get(gram);
+                    if (ids != null) {
+                        ids.forEach(id -> matched.merge(id, 1, Integer::sum));
+                    }
+                }
+                matched.forEach((id, count) -> {
+                    double coverage = (double) count / queryGrams.size();
+                    if (coverage >= minScore) {
+                        scores.merge(id, field.weight * coverage, Math::max);
+                    }
+                });
+                // Точное вхождение подстроки - совпадение не хуже порогового, как и в LIKE '%...%'
+                Map<Long, String> fieldTexts = texts.get(field);
+                for (Long id : substringCandidates(fieldPostings, innerGrams, matched.keySet())) {
+                    String text = fieldTexts.get(id);
+                    if (text != null && text.contains(substring)) {
+                        double coverage = (double) matched.getOrDefault(id, 0) / queryGrams.size();
+                        scores.merge(id, field.weight * Math.max(coverage, minScore), Math::max);
+                    }
+                }
+            }
+
+            List<HotelSearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new HotelSearchHit(id, score)));
+            hits.sort(Comparator.comparingDouble(HotelSearchHit::score).reversed()
+                    .thenComparing(hit -> ratingOf(hit.hotelId()), Comparator.reverseOrder())
+                    .thenComparing(HotelSearchHit::hotelId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Поиск по названию и адресу
+     */
+    public List<HotelSearchHit> search(String query) {
+        return search(query, EnumSet.allOf(Field.class));
+    }
+
+    /**
+     * Индекс построен по данным базы; до этого выдача неполна и не должна кэшироваться
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Количество проиндексированных отелей
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void index(HotelSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(document.id());
+            addUnlocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addUnlocked(HotelSearchDocument document) {
+        documents.put(document.id(), document);
+        texts.get(Field.NAME).put(document.id(), normalize(document.name()));
+        texts.get(Field.ADDRESS).put(document.id(), normalize(document.address()));
+        for (String gram : grams(document.name(), true)) {
+            postings.get(Field.NAME).computeIfAbsent(gram, key -> new HashSet<>()).add(document.id());
+        }
+        for (String gram : grams(document.address(), true)) {
+            postings.get(Field.ADDRESS).computeIfAbsent(gram, key -> new HashSet<>()).add(document.id());
+        }
+    }
+
+    private void removeUnlocked(Long hotelId) {
+        HotelSearchDocument previous = documents.remove(hotelId);
+        if (previous == null) {
+            return;
+        }
+        texts.values().forEach(fieldTexts -> fieldTexts.remove(hotelId));
+        removePostings(Field.NAME, previous.name(), hotelId);
+        removePostings(Field.ADDRESS, previous.address(), hotelId);
+    }
+
+    private void removePostings(Field field, String text, Long hotelId) {
+        Map<String, Set<Long>> fieldPostings = postings.get(field);
+        for (String gram : grams(text, true)) {
+            Set<Long> ids = fieldPostings.get(gram);
+            if (ids != null) {
+                ids.remove(hotelId);
+                if (ids.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Документы, которые могут содержать запрос как подстроку: каждая внутренняя триграмма слова запроса
+     * встречается в слове документа. Запрос из коротких слов (без внутренних триграмм) проверяется
+     * только среди документов, найденных по триграммам
+     */
+    private static Set<Long> substringCandidates(Map<String, Set<Long>> fieldPostings, Set<String> innerGrams,
+                                                 Set<Long> matched) {
+        if (innerGrams.isEmpty()) {
+            return matched;
+        }
+        List<Set<Long>> lists = new ArrayList<>(innerGrams.size());
+        for (String gram : innerGrams) {
+            Set<Long> ids = fieldPostings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return candidates;
+    }
+
+    private double ratingOf(Long hotelId) {
+        HotelSearchDocument document = documents.get(hotelId);
+        return document != null && document.rating() != null ? document.rating() : 0.0;
+    }
+
+    /**
+     * Триграммы слов текста. Слово дополняется двумя пробелами слева, поэтому префикс слова
+     * ("моск") полностью совпадает с документом ("москва"); пробел справа добавляется только
+     * в документе, чтобы запрос не требовал совпадения конца слова
+     */
+    static Set<String> grams(String text, boolean padEnd) {
+        Set<String> result = new LinkedHashSet<>();
+        if (text == null) {
+            return result;
+        }
+        for (String word : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + (padEnd ? " " : "");
+            for (int i = 0; i + GRAM <= padded.length(); i++) {
+                result.add(padded.substring(i, i + GRAM));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Триграммы внутри слов без дополнения пробелами: они есть у любого слова, содержащего слово запроса
+     */
+    static Set<String> innerGrams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                result.add(word.substring(i, i + GRAM));
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+}
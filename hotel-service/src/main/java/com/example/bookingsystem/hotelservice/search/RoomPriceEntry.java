@@ -0,0 +1,9 @@
+package com.example.bookingsystem.hotelservice.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Поля доступного номера, участвующие в ценовом индексе
+ */
+public record RoomPriceEntry(Long roomId, Long hotelId, BigDecimal pricePerNight) {
+}
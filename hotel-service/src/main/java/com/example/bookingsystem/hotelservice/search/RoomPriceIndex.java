@@ -0,0 +1,221 @@
+package com.example.bookingsystem.hotelservice.search;
+
+import com.example.bookingsystem.hotelservice.cache.CatalogSeededEvent;
+import com.example.bookingsystem.hotelservice.cache.HotelChangedEvent;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ценовой индекс доступных номеров в памяти
+ * Цены хранятся в копейках в отсортированном массиве long параллельно с ID номеров и отелей
+ * (порядок - цена, затем ID, как у сортировки pricePerNight). Диапазон цен - два бинарных поиска
+ * и непрерывный срез массива, без BigDecimal и упаковки в обертки. Массивы неизменяемы: изменение
+ * публикует новый снимок, поэтому чтение идет без блокировок
+ */
+@Component
+@Slf4j
+public class RoomPriceIndex {
+
+    private static final int MINOR_UNITS = 2;
+    private static final Comparator<RoomPriceEntry> ENTRY_ORDER = Comparator
+            .comparing(RoomPriceEntry::pricePerNight)
+            .thenComparing(RoomPriceEntry::roomId);
+
+    private final RoomRepository roomRepository;
+
+    private volatile Snapshot snapshot;
+
+    public RoomPriceIndex(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Полное построение индекса после старта (в т.ч. после загрузки тестовых данных) и после фонового заполнения
+     */
+    @EventListener({ApplicationReadyEvent.class, CatalogSeededEvent.class})
+    public void rebuild() {
+        load(roomRepository.findAllPriceEntries());
+        log.info("Ценовой индекс номеров построен: {} номеров", size());
+    }
+
+    /**
+     * Обновление номеров отеля после фиксации изменения
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        reindexHotel(event.hotelId());
+    }
+
+    /**
+     * Переиндексация номеров отеля по текущему состоянию в базе
+     */
+    public void reindexHotel(Long hotelId) {
+        if (hotelId != null && snapshot != null) {
+            replaceHotel(hotelId, roomRepository.findPriceEntriesByHotelId(hotelId));
+        }
+    }
+
+    /**
+     * Индекс построен и может обслуживать запросы
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Количество проиндексированных номеров
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.prices.length;
+    }
+
+    /**
+     * ID номеров с ценой в [minPrice, maxPrice], следующих после ключа (afterPrice, afterRoomId),
+     * в порядке цены и ID; возвращается не больше limit + 1 ID, чтобы вызывающий определил наличие
+     * следующей страницы
+     *
+     * @param afterPrice  цена последней записи предыдущей страницы или null для первой страницы
+     * @param afterRoomId ID последней записи предыдущей страницы
+     */
+    public long[] findRange(BigDecimal minPrice, BigDecimal maxPrice,
+                            BigDecimal afterPrice, Long afterRoomId, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Ценовой индекс номеров еще не построен");
+        }
+        long min = toMinorUnits(minPrice, RoundingMode.CEILING);
+        long max = toMinorUnits(maxPrice, RoundingMode.FLOOR);
+        if (min > max) {
+            return new long[0];
+        }
+
+        int from = current.lowerBound(min, Long.MIN_VALUE);
+        if (afterPrice != null && afterRoomId != null) {
+            long after = toMinorUnits(afterPrice, RoundingMode.CEILING);
+            from = Math.max(from, current.lowerBound(after, afterRoomId + 1));
+        }
+        int to = current.lowerBound(max + 1, Long.MIN_VALUE);
+
+        int count = Math.max(0, Math.min(to - from, limit + 1));
+        long[] result = new long[count];
+        System.arraycopy(current.roomIds, from, result, 0, count);
+        return result;
+    }
+
+    synchronized void load(List<RoomPriceEntry> entries) {
+        snapshot = Snapshot.of(entries);
+    }
+
+    /**
+     * Замена номеров отеля: оставшиеся записи уже упорядочены, поэтому новый снимок строится
+     * слиянием за один проход
+     */
+    synchronized void replaceHotel(long hotelId, List<RoomPriceEntry> hotelEntries) {
+        Snapshot current = snapshot;
+        Snapshot added = Snapshot.of(hotelEntries);
+
+        int retained = 0;
+        for (long id : current.hotelIds) {
+            if (id != hotelId) {
+                retained++;
+            }
+        }
+        Snapshot next = new Snapshot(retained + added.prices.length);
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < current.prices.length || j < added.prices.length) {
+            if (i < current.prices.length && current.hotelIds[i] == hotelId) {
+                i++;
+            } else if (j == added.prices.length || (i < current.prices.length
+                    && compare(current.prices[i], current.roomIds[i], added.prices[j], added.roomIds[j]) < 0)) {
+                next.copy(k++, current, i++);
+            } else {
+                next.copy(k++, added, j++);
+            }
+        }
+        snapshot = next;
+    }
+
+    /**
+     * Цена в копейках; границы диапазона округляются внутрь него
+     */
+    static long toMinorUnits(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(MINOR_UNITS, roundingMode).unscaledValue().longValueExact();
+    }
+
+    private static int compare(long price, long roomId, long otherPrice, long otherRoomId) {
+        int byPrice = Long.compare(price, otherPrice);
+        return byPrice != 0 ? byPrice : Long.compare(roomId, otherRoomId);
+    }
+
+    /**
+     * Неизменяемый после публикации снимок индекса: параллельные массивы цен, ID номеров и отелей
+     */
+    private static final class Snapshot {
+
+        private final long[] prices;
+        private final long[] roomIds;
+        private final long[] hotelIds;
+
+        private Snapshot(int size) {
+            prices = new long[size];
+            roomIds = new long[size];
+            hotelIds = new long[size];
+        }
+
+        private static Snapshot of(List<RoomPriceEntry> entries) {
+            List<RoomPriceEntry> sorted = new ArrayList<>(entries);
+            sorted.sort(ENTRY_ORDER);
+            Snapshot result = new Snapshot(sorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                RoomPriceEntry entry = sorted.get(i);
+                result.set(i, toMinorUnits(entry.pricePerNight(), RoundingMode.UNNECESSARY),
+                        entry.roomId(), entry.hotelId());
+            }
+            return result;
+        }
+
+        private void set(int position, long price, long roomId, long hotelId) {
+            prices[position] = price;
+            roomIds[position] = roomId;
+            hotelIds[position] = hotelId;
+        }
+
+        private void copy(int position, Snapshot source, int sourcePosition) {
+            set(position, source.prices[sourcePosition], source.roomIds[sourcePosition],
+                    source.hotelIds[sourcePosition]);
+        }
+
+        /**
+         * Первая позиция с ключом (цена, ID) не меньше заданного
+         */
+        private int lowerBound(long price, long roomId) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(prices[mid], roomIds[mid], price, roomId) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookingsystem.hotelservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Фильтр аутентификации по доверенным заголовкам API Gateway
+ * JWT проверяется на шлюзе, сервис лишь сверяет внутренний токен шлюза
+ */
+@Component
+@Slf4j
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String USERNAME_HEADER = "X-User-Name";
+    static final String USER_ROLE_HEADER = "X-User-Role";
+    static final String GATEWAY_TOKEN_HEADER = "X-Gateway-Token";
+
+    @Value("${security.gateway.internal-token:}")
+    private String gatewayInternalToken;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null && isTrustedGatewayRequest(request)) {
+            String username = request.getHeader(USERNAME_HEADER);
+            String role = request.getHeader(USER_ROLE_HEADER);
+
+            if (username != null && role != null) {
+                var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+                var authToken = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("Пользователь {} аутентифицирован по заголовкам шлюза", username);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Запрос пришел через API Gateway, если он несет совпадающий внутренний токен шлюза
+     */
+    private boolean isTrustedGatewayRequest(HttpServletRequest request) {
+        String token = request.getHeader(GATEWAY_TOKEN_HEADER);
+        if (token == null || gatewayInternalToken.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8),
+                gatewayInternalToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
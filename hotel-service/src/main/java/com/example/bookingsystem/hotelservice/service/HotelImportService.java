@@ -0,0 +1,323 @@
+package com.example.bookingsystem.hotelservice.service;
+
+import com.example.bookingsystem.hotelservice.cache.HotelChangedEvent;
+import com.example.bookingsystem.hotelservice.dto.CreateHotelRequest;
+import com.example.bookingsystem.hotelservice.dto.CreateRoomRequest;
+import com.example.bookingsystem.hotelservice.dto.HotelImportResult;
+import com.example.bookingsystem.hotelservice.dto.HotelImportRow;
+import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import com.example.bookingsystem.hotelservice.util.HotelMapper;
+import com.example.bookingsystem.hotelservice.util.RoomMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Массовый импорт отелей и номеров из потока CSV или NDJSON
+ * Записи читаются потоком и записываются порциями (chunk-size) в отдельных транзакциях: идентификаторы выделяются
+ * из последовательностей блоками, поэтому INSERT отправляются JDBC пакетами (hibernate.jdbc.batch_size),
+ * после каждой порции контекст персистентности очищается. Некорректные записи отклоняются по одной,
+ * ошибка записи порции в базу отклоняет только эту порцию. Отель определяется названием и адресом: записи
+ * существующего в базе отеля дополняют его номерами, номера комнат сверяются с уже сохраненными
+ */
+@Service
+@Slf4j
+public class HotelImportService {
+
+    /**
+     * Формат входных данных
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final EntityManager entityManager;
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final HotelMapper hotelMapper;
+    private final RoomMapper roomMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int chunkSize;
+
+    public HotelImportService(EntityManager entityManager,
+                              HotelRepository hotelRepository,
+                              RoomRepository roomRepository,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              HotelMapper hotelMapper,
+                              RoomMapper roomMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectMapper objectMapper,
+                              @Value("${hotel.import.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.hotelMapper = hotelMapper;
+        this.roomMapper = roomMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        // Неизвестное поле (опечатка в заголовке CSV или ключе JSON) - ошибка, а не молча пропущенное значение
+        this.ndjsonReader = objectMapper.readerFor(HotelImportRow.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build()
+                .readerFor(HotelImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Импорт каталога из потока; после импорта кэши и индексы созданных отелей обновляются событиями HotelChangedEvent
+     */
+    public HotelImportResult importCatalog(InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        ImportState state = new ImportState();
+        boolean completed = true;
+
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<HotelImportRow> rows =
+                     (format == Format.CSV ? csvReader : ndjsonReader).readValues(input)) {
+            long rowNumber = 0;
+            while (true) {
+                rowNumber++;
+                HotelImportRow row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    state.reject(rowNumber, "Ошибка разбора: " + e.getOriginalMessage());
+                    completed = false;
+                    break;
+                }
+                PendingRow pending = prepare(rowNumber, row, state);
+                if (pending != null) {
+                    chunk.add(pending);
+                    if (chunk.size() >= chunkSize) {
+                        write(chunk, state);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, state);
+        }
+
+        state.hotelIds.values().forEach(hotelId -> eventPublisher.publishEvent(new HotelChangedEvent(hotelId)));
+        state.updatedHotelIds.forEach(hotelId -> eventPublisher.publishEvent(new HotelChangedEvent(hotelId)));
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Импорт каталога ({}): отелей {}, номеров {}, отклонено записей {} за {} мс",
+                format, state.hotelIds.size(), state.roomsCreated, state.rejected, durationMs);
+        return HotelImportResult.builder()
+                .completed(completed)
+                .hotelsCreated(state.hotelIds.size())
+                .roomsCreated(state.roomsCreated)
+                .rejected(state.rejected)
+                .durationMs(durationMs)
+                .errors(state.errors)
+                .build();
+    }
+
+    /**
+     * Проверка записи до записи в базу; null - запись отклонена
+     */
+    private PendingRow prepare(long rowNumber, HotelImportRow row, ImportState state) {
+        if (isBlank(row.getHotelName()) || isBlank(row.getHotelAddress())) {
+            state.reject(rowNumber, "Не указаны название или адрес отеля");
+            return null;
+        }
+        String hotelName = row.getHotelName().trim();
+        String hotelAddress = row.getHotelAddress().trim();
+        String hotelKey = hotelName + '\n' + hotelAddress;
+
+        if (!state.knownHotels.contains(hotelKey) && !state.existingHotelIds.containsKey(hotelKey)) {
+            // Отель из базы: номера дополняют его, занятые номера комнат загружаются один раз на отель
+            hotelRepository.findIdByNameAndAddress(hotelName, hotelAddress).ifPresent(hotelId -> {
+                state.existingHotelIds.put(hotelKey, hotelId);
+                state.roomNumbers.put(hotelKey, new HashSet<>(roomRepository.findRoomNumbersByHotelId(hotelId)));
+            });
+        }
+
+        Hotel hotel = null;
+        if (!state.knownHotels.contains(hotelKey) && !state.existingHotelIds.containsKey(hotelKey)) {
+            CreateHotelRequest request = CreateHotelRequest.builder()
+                    .name(hotelName)
+                    .address(hotelAddress)
+                    .description(row.getHotelDescription())
+                    .phoneNumber(row.getHotelPhoneNumber())
+                    .email(row.getHotelEmail())
+                    .rating(row.getHotelRating())
+                    .build();
+            String violations = violations(validator.validate(request));
+            if (violations != null) {
+                state.reject(rowNumber, violations);
+                return null;
+            }
+            hotel = hotelMapper.toEntity(request);
+        }
+
+        Room room = null;
+        if (!isBlank(row.getRoomNumber())) {
+            CreateRoomRequest request = CreateRoomRequest.builder()
+                    .roomNumber(row.getRoomNumber().trim())
+                    .roomType(row.getRoomType())
+                    .capacity(row.getCapacity())
+                    .pricePerNight(row.getPricePerNight())
+                    .description(row.getRoomDescription())
+                    .amenities(row.getAmenities())
+                    .build();
+            // hotelId становится известен только при записи
+            String violations = violations(validator.validate(request).stream()
+                    .filter(violation -> !violation.getPropertyPath().toString().equals("hotelId"))
+                    .collect(Collectors.toSet()));
+            if (violations != null) {
+                state.reject(rowNumber, violations);
+                return null;
+            }
+            try {
+                room = roomMapper.toEntity(request);
+            } catch (IllegalArgumentException e) {
+                // Неизвестное удобство
+                state.reject(rowNumber, e.getMessage());
+                return null;
+            }
+            if (!state.roomNumbers.computeIfAbsent(hotelKey, key -> new HashSet<>()).add(room.getRoomNumber())) {
+                state.reject(rowNumber, "Номер " + room.getRoomNumber() + " повторяется в отеле");
+                return null;
+            }
+        }
+
+        state.knownHotels.add(hotelKey);
+        return new PendingRow(rowNumber, hotelKey, hotel, room);
+    }
+
+    /**
+     * Запись порции в одной транзакции
+     */
+    private void write(List<PendingRow> chunk, ImportState state) {
+        Map<String, Long> created = new HashMap<>();
+        try {
+            Integer rooms = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (PendingRow row : chunk) {
+                    Hotel hotel = row.hotel();
+                    if (hotel != null) {
+                        entityManager.persist(hotel);
+                        created.put(row.hotelKey(), hotel.getId());
+                    } else {
+                        Long hotelId = created.get(row.hotelKey());
+                        if (hotelId == null) {
+                            hotelId = state.hotelIds.getOrDefault(row.hotelKey(), state.existingHotelIds.get(row.hotelKey()));
+                        }
+                        hotel = entityManager.getReference(Hotel.class, hotelId);
+                    }
+                    if (row.room() != null) {
+                        row.room().setHotel(hotel);
+                        entityManager.persist(row.room());
+                        count++;
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return count;
+            });
+            state.hotelIds.putAll(created);
+            for (PendingRow row : chunk) {
+                Long existingId = state.existingHotelIds.get(row.hotelKey());
+                if (existingId != null && row.room() != null) {
+                    state.updatedHotelIds.add(existingId);
+                }
+            }
+            state.roomsCreated += rooms == null ? 0 : rooms;
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать записи {}-{} импорта: {}",
+                    chunk.get(0).rowNumber(), chunk.get(chunk.size() - 1).rowNumber(), e.getMessage());
+            // Отели порции не созданы: следующие записи этих отелей создадут их заново
+            state.knownHotels.removeAll(created.keySet());
+            for (PendingRow row : chunk) {
+                if (row.room() != null) {
+                    state.roomNumbers.get(row.hotelKey()).remove(row.room().getRoomNumber());
+                }
+                state.reject(row.rowNumber(), "Ошибка записи порции: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String violations(Set<? extends ConstraintViolation<?>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record PendingRow(long rowNumber, String hotelKey, Hotel hotel, Room room) {
+    }
+
+    /**
+     * Состояние одного импорта: созданные и найденные в базе отели по ключу название + адрес,
+     * номера комнат отелей, ошибки
+     */
+    private static class ImportState {
+        private final Map<String, Long> hotelIds = new HashMap<>();
+        private final Map<String, Long> existingHotelIds = new HashMap<>();
+        private final Set<Long> updatedHotelIds = new HashSet<>();
+        private final Set<String> knownHotels = new HashSet<>();
+        private final Map<String, Set<String>> roomNumbers = new HashMap<>();
+        private final List<HotelImportResult.RowError> errors = new ArrayList<>();
+        private int roomsCreated;
+        private int rejected;
+
+        void reject(long rowNumber, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new HotelImportResult.RowError(rowNumber, message));
+            }
+        }
+    }
+}
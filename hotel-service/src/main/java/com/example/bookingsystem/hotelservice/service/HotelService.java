@@ -1,20 +1,39 @@
 package com.example.bookingsystem.hotelservice.service;
 
+import com.example.bookingsystem.hotelservice.cache.HotelChangedEvent;
+import com.example.bookingsystem.hotelservice.config.CacheConfig;
 import com.example.bookingsystem.hotelservice.dto.CreateHotelRequest;
+import com.example.bookingsystem.hotelservice.dto.CursorPage;
 import com.example.bookingsystem.hotelservice.dto.HotelDto;
+import com.example.bookingsystem.hotelservice.dto.HotelSearchResponse;
+import com.example.bookingsystem.hotelservice.dto.HotelSummaryDto;
+import com.example.bookingsystem.hotelservice.dto.HotelView;
+import com.example.bookingsystem.hotelservice.dto.ListFields;
 import com.example.bookingsystem.hotelservice.entity.Hotel;
 import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import com.example.bookingsystem.hotelservice.search.HotelSearchHit;
+import com.example.bookingsystem.hotelservice.search.HotelSearchIndex;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
 import com.example.bookingsystem.hotelservice.util.HotelMapper;
+import com.example.bookingsystem.hotelservice.util.PageQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Сервис для работы с отелями
+ * Чтение каталога кэшируется; изменения публикуют HotelChangedEvent, кэш очищается после фиксации транзакции
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +43,9 @@ public class HotelService {
 
     private final HotelRepository hotelRepository;
     private final HotelMapper hotelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final CursorPagination cursorPagination;
 
     /**
      * Создание нового отеля
@@ -31,17 +53,24 @@ public class HotelService {
     @Transactional
     public HotelDto createHotel(CreateHotelRequest request) {
         log.info("Создание нового отеля: {}", request.getName());
-        
+
+        if (hotelRepository.findIdByNameAndAddress(request.getName(), request.getAddress()).isPresent()) {
+            throw new IllegalArgumentException("Отель " + request.getName() + " по адресу " + request.getAddress()
+                    + " уже существует");
+        }
+
         Hotel hotel = hotelMapper.toEntity(request);
         Hotel savedHotel = hotelRepository.save(hotel);
         
         log.info("Отель успешно создан с ID: {}", savedHotel.getId());
+        eventPublisher.publishEvent(new HotelChangedEvent(savedHotel.getId()));
         return hotelMapper.toDto(savedHotel);
     }
 
     /**
      * Получение отеля по ID
      */
+    @Cacheable(cacheNames = CacheConfig.HOTELS, key = "#id")
     public Optional<HotelDto> getHotelById(Long id) {
         log.debug("Поиск отеля по ID: {}", id);
         return hotelRepository.findById(id)
@@ -49,41 +78,80 @@ public class HotelService {
     }
 
     /**
-     * Получение всех отелей
+     * Получение страницы отелей (fields=summary - проекция без номеров и описания)
      */
-    public List<HotelDto> getAllHotels() {
-        log.debug("Получение списка всех отелей");
-        List<Hotel> hotels = hotelRepository.findAll();
-        return hotelMapper.toDtoList(hotels);
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH, key = "{'all', #fields, #page}")
+    public CursorPage<? extends HotelView> getAllHotels(ListFields fields, PageQuery page) {
+        log.debug("Получение страницы отелей");
+        if (fields == ListFields.SUMMARY) {
+            return cursorPagination.toPage(hotelRepository.findAllBy(
+                    page.position(), page.sort(), page.limit(), HotelSummaryDto.class), page);
+        }
+        Window<Hotel> hotels = hotelRepository.findAllBy(page.position(), page.sort(), page.limit(), Hotel.class);
+        return cursorPagination.toPage(hotels.map(hotelMapper::toDto), page);
     }
 
     /**
-     * Поиск отелей по названию
+     * Поиск отелей по названию (по индексу, с учетом опечаток, по убыванию релевантности)
      */
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH, key = "'name:' + #name.toLowerCase()",
+            unless = "!@hotelSearchIndex.ready")
     public List<HotelDto> searchHotelsByName(String name) {
         log.debug("Поиск отелей по названию: {}", name);
-        List<Hotel> hotels = hotelRepository.findByNameContainingIgnoreCase(name);
-        return hotelMapper.toDtoList(hotels);
+        return loadRanked(hotelSearchIndex.search(name, EnumSet.of(HotelSearchIndex.Field.NAME)));
     }
 
     /**
-     * Поиск отелей по адресу
+     * Поиск отелей по адресу (по индексу, с учетом опечаток, по убыванию релевантности)
      */
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH, key = "'address:' + #address.toLowerCase()",
+            unless = "!@hotelSearchIndex.ready")
     public List<HotelDto> searchHotelsByAddress(String address) {
         log.debug("Поиск отелей по адресу: {}", address);
-        List<Hotel> hotels = hotelRepository.findByAddressContainingIgnoreCase(address);
-        return hotelMapper.toDtoList(hotels);
+        return loadRanked(hotelSearchIndex.search(address, EnumSet.of(HotelSearchIndex.Field.ADDRESS)));
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и адресу с пагинацией
+     */
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH,
+            key = "'text:' + #query.toLowerCase() + ':' + #page + ':' + #size",
+            unless = "!@hotelSearchIndex.ready")
+    public HotelSearchResponse searchHotels(String query, int page, int size) {
+        log.debug("Полнотекстовый поиск отелей: {} (страница {}, размер {})", query, page, size);
+        List<HotelSearchHit> hits = hotelSearchIndex.search(query);
+
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+
+        return HotelSearchResponse.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .totalElements(hits.size())
+                .hotels(loadRanked(hits.subList(from, to)))
+                .build();
     }
 
     /**
      * Поиск отелей с рейтингом выше указанного
      */
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH, key = "'rating:' + #minRating")
     public List<HotelDto> getHotelsByRating(Double minRating) {
         log.debug("Поиск отелей с рейтингом >= {}", minRating);
         List<Hotel> hotels = hotelRepository.findByRatingGreaterThanEqualOrderByRatingDesc(minRating);
         return hotelMapper.toDtoList(hotels);
     }
 
+    /**
+     * Краткий список отелей с рейтингом выше указанного
+     */
+    @Cacheable(cacheNames = CacheConfig.HOTEL_SEARCH, key = "'rating:summary:' + #minRating")
+    public List<HotelSummaryDto> getHotelSummariesByRating(Double minRating) {
+        log.debug("Краткий поиск отелей с рейтингом >= {}", minRating);
+        return hotelRepository.findByRatingGreaterThanEqualOrderByRatingDesc(minRating, HotelSummaryDto.class);
+    }
+
     /**
      * Обновление отеля
      */
@@ -102,6 +170,7 @@ public class HotelService {
                     
                     Hotel updatedHotel = hotelRepository.save(hotel);
                     log.info("Отель с ID {} успешно обновлен", id);
+                    eventPublisher.publishEvent(new HotelChangedEvent(id));
                     return hotelMapper.toDto(updatedHotel);
                 });
     }
@@ -116,6 +185,7 @@ public class HotelService {
         if (hotelRepository.existsById(id)) {
             hotelRepository.deleteById(id);
             log.info("Отель с ID {} успешно удален", id);
+            eventPublisher.publishEvent(new HotelChangedEvent(id));
             return true;
         }
         
@@ -123,6 +193,22 @@ public class HotelService {
         return false;
     }
 
+    /**
+     * Загрузка отелей одним запросом с сохранением порядка выдачи индекса
+     */
+    private List<HotelDto> loadRanked(List<HotelSearchHit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).hotelId(), i);
+        }
+        List<Hotel> hotels = hotelRepository.findAllById(rank.keySet());
+        hotels.sort(Comparator.comparing(hotel -> rank.get(hotel.getId())));
+        return hotelMapper.toDtoList(hotels);
+    }
+
     /**
      * Проверка существования отеля
      */
@@ -0,0 +1,77 @@
+package com.example.bookingsystem.hotelservice.service;
+
+import com.example.bookingsystem.hotelservice.dto.RoomQuoteDto;
+import com.example.bookingsystem.hotelservice.dto.RoomRateEntry;
+import com.example.bookingsystem.hotelservice.entity.RatePlan;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Расчет стоимости проживания
+ * Сумма считается в копейках (long) по ночам периода [startDate, endDate) через префиксные суммы
+ * сезонного тарифа (RatePlan) - за O(1) на номер независимо от длины периода. Цены и тарифы читаются
+ * одной проекцией без загрузки сущностей, поэтому пакетный расчет для страницы поиска - один запрос
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class PricingService {
+
+    /**
+     * Максимальное количество номеров в одном пакетном расчете
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final RoomRepository roomRepository;
+
+    /**
+     * Стоимость проживания в номере
+     */
+    public Optional<RoomQuoteDto> quote(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return quote(List.of(roomId), startDate, endDate).stream().findFirst();
+    }
+
+    /**
+     * Стоимость проживания в нескольких номерах на одни даты; отсутствующие номера пропускаются
+     */
+    public List<RoomQuoteDto> quote(Collection<Long> roomIds, LocalDate startDate, LocalDate endDate) {
+        int nights = nights(startDate, endDate);
+        if (roomIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Не более " + MAX_BATCH_SIZE + " номеров в одном расчете");
+        }
+        log.debug("Расчет стоимости {} номеров на период {} - {}", roomIds.size(), startDate, endDate);
+        return roomRepository.findRateEntriesByIdIn(roomIds).stream()
+                .map(entry -> toQuote(entry, startDate, endDate, nights))
+                .toList();
+    }
+
+    private static RoomQuoteDto toQuote(RoomRateEntry entry, LocalDate startDate, LocalDate endDate, int nights) {
+        long total = RatePlan.stayTotal(RatePlan.toMinorUnits(entry.pricePerNight()),
+                entry.rateOriginDay(), entry.rateNightTotals(), startDate.toEpochDay(), endDate.toEpochDay());
+        return RoomQuoteDto.builder()
+                .roomId(entry.roomId())
+                .hotelId(entry.hotelId())
+                .startDate(startDate)
+                .endDate(endDate)
+                .nights(nights)
+                .totalPrice(RatePlan.fromMinorUnits(total))
+                .build();
+    }
+
+    private static int nights(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Дата окончания должна быть позже даты начала");
+        }
+        return Math.toIntExact(ChronoUnit.DAYS.between(startDate, endDate));
+    }
+}
@@ -1,24 +1,50 @@
 package com.example.bookingsystem.hotelservice.service;
 
+import com.example.bookingsystem.hotelservice.cache.HotelChangedEvent;
 import com.example.bookingsystem.hotelservice.dto.CreateRoomRequest;
+import com.example.bookingsystem.hotelservice.dto.CursorPage;
+import com.example.bookingsystem.hotelservice.dto.ListFields;
+import com.example.bookingsystem.hotelservice.dto.RatePlanRequest;
 import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityRequest;
 import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityResponse;
 import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.dto.RoomSearchRequest;
+import com.example.bookingsystem.hotelservice.dto.RoomSummaryDto;
+import com.example.bookingsystem.hotelservice.dto.RoomView;
 import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.entity.RatePlan;
 import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.hold.RoomHoldRegistry;
 import com.example.bookingsystem.hotelservice.repository.HotelRepository;
 import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import com.example.bookingsystem.hotelservice.repository.RoomSpecifications;
+import com.example.bookingsystem.hotelservice.search.RoomPriceIndex;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
+import com.example.bookingsystem.hotelservice.util.PageQuery;
 import com.example.bookingsystem.hotelservice.util.RoomMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с номерами
@@ -29,12 +55,18 @@ import java.util.concurrent.ConcurrentMap;
 @Transactional(readOnly = true)
 public class RoomService {
 
+    /**
+     * Порядок выдачи ценового индекса (с добавленным при разборе страницы ID)
+     */
+    private static final Sort PRICE_ORDER = Sort.by("pricePerNight").and(Sort.by("id"));
+
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
     private final RoomMapper roomMapper;
-    
-    // Кэш для временных блокировок номеров
-    private final ConcurrentMap<String, RoomAvailabilityRequest> temporaryBlocks = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorPagination cursorPagination;
+    private final RoomPriceIndex roomPriceIndex;
+    private final RoomHoldRegistry roomHolds;
 
     /**
      * Создание нового номера
@@ -56,6 +88,29 @@ public class RoomService {
         
         Room savedRoom = roomRepository.save(room);
         log.info("Номер успешно создан с ID: {}", savedRoom.getId());
+        // Номера входят в HotelDto, поэтому кэш отеля устаревает
+        eventPublisher.publishEvent(new HotelChangedEvent(hotel.getId()));
+        
+        return roomMapper.toDto(savedRoom);
+    }
+
+    /**
+     * Установка сезонного тарифа номера (null - удаление тарифа)
+     */
+    @Transactional
+    public RoomDto updateRatePlan(Long roomId, RatePlanRequest request) {
+        log.info("Обновление тарифа номера {}", roomId);
+        
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Номер с ID " + roomId + " не найден"));
+        
+        room.setRatePlan(request == null ? null : RatePlan.compile(room.getPricePerNight(),
+                request.getSeasons().stream()
+                        .map(season -> new RatePlan.Season(season.getStartDate(), season.getEndDate(),
+                                season.getPricePerNight()))
+                        .toList()));
+        Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(new HotelChangedEvent(savedRoom.getHotelId()));
         
         return roomMapper.toDto(savedRoom);
     }
@@ -70,21 +125,21 @@ public class RoomService {
     }
 
     /**
-     * Получение всех номеров отеля
+     * Получение номеров отеля (страница)
      */
-    public List<RoomDto> getRoomsByHotelId(Long hotelId) {
+    public CursorPage<? extends RoomView> getRoomsByHotelId(Long hotelId, ListFields fields, PageQuery page) {
         log.debug("Получение номеров отеля с ID: {}", hotelId);
-        List<Room> rooms = roomRepository.findByHotelId(hotelId);
-        return roomMapper.toDtoList(rooms);
+        return fetchPage(fields, page, type -> roomRepository.findByHotelId(
+                hotelId, page.position(), page.sort(), page.limit(), type));
     }
 
     /**
-     * Получение доступных номеров отеля
+     * Получение доступных номеров отеля (страница)
      */
-    public List<RoomDto> getAvailableRoomsByHotelId(Long hotelId) {
+    public CursorPage<? extends RoomView> getAvailableRoomsByHotelId(Long hotelId, ListFields fields, PageQuery page) {
         log.debug("Получение доступных номеров отеля с ID: {}", hotelId);
-        List<Room> rooms = roomRepository.findByHotelIdAndAvailableTrue(hotelId);
-        return roomMapper.toDtoList(rooms);
+        return fetchPage(fields, page, type -> roomRepository.findByHotelIdAndAvailableTrue(
+                hotelId, page.position(), page.sort(), page.limit(), type));
     }
 
     /**
@@ -97,39 +152,73 @@ public class RoomService {
     }
 
     /**
-     * Получение всех доступных номеров
+     * Получение всех доступных номеров (страница)
      */
-    public List<RoomDto> getAllAvailableRooms() {
+    public CursorPage<? extends RoomView> getAllAvailableRooms(ListFields fields, PageQuery page) {
         log.debug("Получение всех доступных номеров");
-        List<Room> rooms = roomRepository.findAllAvailableRooms();
-        return roomMapper.toDtoList(rooms);
+        return fetchPage(fields, page, type -> roomRepository.findByAvailableTrue(
+                page.position(), page.sort(), page.limit(), type));
     }
 
     /**
-     * Поиск номеров по типу
+     * Поиск номеров по типу (страница)
      */
-    public List<RoomDto> getRoomsByType(String roomType) {
+    public CursorPage<? extends RoomView> getRoomsByType(String roomType, ListFields fields, PageQuery page) {
         log.debug("Поиск номеров по типу: {}", roomType);
-        List<Room> rooms = roomRepository.findByRoomTypeAndAvailableTrue(roomType);
-        return roomMapper.toDtoList(rooms);
+        return fetchPage(fields, page, type -> roomRepository.findByRoomTypeAndAvailableTrue(
+                roomType, page.position(), page.sort(), page.limit(), type));
     }
 
     /**
-     * Поиск номеров по вместимости
+     * Поиск номеров по вместимости (страница)
      */
-    public List<RoomDto> getRoomsByCapacity(Integer capacity) {
+    public CursorPage<? extends RoomView> getRoomsByCapacity(Integer capacity, ListFields fields, PageQuery page) {
         log.debug("Поиск номеров по вместимости: {}", capacity);
-        List<Room> rooms = roomRepository.findByCapacityGreaterThanEqualAndAvailableTrue(capacity);
-        return roomMapper.toDtoList(rooms);
+        return fetchPage(fields, page, type -> roomRepository.findByCapacityGreaterThanEqualAndAvailableTrue(
+                capacity, page.position(), page.sort(), page.limit(), type));
     }
 
     /**
-     * Поиск номеров по ценовому диапазону
+     * Поиск номеров по ценовому диапазону (страница)
+     * При сортировке по возрастанию цены ID страницы берутся срезом ценового индекса,
+     * а из базы загружаются только сами номера по первичному ключу
      */
-    public List<RoomDto> getRoomsByPriceRange(Double minPrice, Double maxPrice) {
+    public CursorPage<? extends RoomView> getRoomsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, ListFields fields,
+                                              PageQuery page) {
         log.debug("Поиск номеров по ценовому диапазону: {} - {}", minPrice, maxPrice);
-        List<Room> rooms = roomRepository.findByPriceRangeAndAvailableTrue(minPrice, maxPrice);
-        return roomMapper.toDtoList(rooms);
+        if (roomPriceIndex.isReady() && PRICE_ORDER.equals(page.sort())
+                && page.position() instanceof KeysetScrollPosition keyset) {
+            return priceIndexPage(minPrice, maxPrice, fields, page, keyset.getKeys());
+        }
+        return fetchPage(fields, page, type -> roomRepository.findByPricePerNightBetweenAndAvailableTrue(
+                minPrice, maxPrice, page.position(), page.sort(), page.limit(), type));
+    }
+
+    /**
+     * Комбинированный поиск номеров: все заданные критерии проверяются одним запросом
+     * Номера, временно заблокированные на пересекающиеся даты, исключаются в том же запросе;
+     * при указанных датах полное представление содержит стоимость проживания по тарифу номера
+     */
+    public CursorPage<? extends RoomView> searchRooms(RoomSearchRequest criteria, ListFields fields, PageQuery page) {
+        log.debug("Комбинированный поиск номеров: {}", criteria);
+        Specification<Room> specification = RoomSpecifications.matching(criteria,
+                roomHolds.blockedRoomIds(criteria.getStartDate(), criteria.getEndDate()));
+        // Fluent API спецификаций не поддерживает DTO-проекции, краткое представление строится из сущностей
+        Window<Room> rooms = roomRepository.findBy(specification, query -> query
+                .sortBy(page.sort())
+                .limit(page.limit().max())
+                .scroll(page.position()));
+        if (fields == ListFields.SUMMARY) {
+            return cursorPagination.toPage(rooms.map(roomMapper::toSummary), page);
+        }
+        if (criteria.getStartDate() == null || criteria.getEndDate() == null) {
+            return cursorPagination.toPage(rooms.map(roomMapper::toDto), page);
+        }
+        return cursorPagination.toPage(rooms.map(room -> {
+            RoomDto dto = roomMapper.toDto(room);
+            dto.setStayTotal(room.stayTotal(criteria.getStartDate(), criteria.getEndDate()));
+            return dto;
+        }), page);
     }
 
     /**
@@ -148,25 +237,26 @@ public class RoomService {
     public RoomAvailabilityResponse confirmRoomAvailability(RoomAvailabilityRequest request) {
         log.info("Подтверждение доступности номера {} на период {} - {}", 
                 request.getRoomId(), request.getStartDate(), request.getEndDate());
-        
+        roomHolds.checkPeriod(request.getStartDate(), request.getEndDate());
+
         // Проверяем идемпотентность
-        if (request.getRequestId() != null && temporaryBlocks.containsKey(request.getRequestId())) {
+        if (request.getRequestId() != null && roomHolds.contains(request.getRequestId())) {
             log.info("Запрос {} уже обработан (идемпотентность)", request.getRequestId());
-            Room existingRoom = roomRepository.findById(request.getRoomId())
+            Long existingHotelId = roomRepository.findHotelIdById(request.getRoomId())
                     .orElseThrow(() -> new IllegalArgumentException("Номер не найден"));
             return RoomAvailabilityResponse.builder()
                     .available(true)
                     .message("Номер уже заблокирован")
                     .requestId(request.getRequestId())
                     .roomId(request.getRoomId())
-                    .hotelId(existingRoom.getHotel().getId())
+                    .hotelId(existingHotelId)
                     .build();
         }
         
         Room room = roomRepository.findById(request.getRoomId())
                 .orElseThrow(() -> new IllegalArgumentException("Номер с ID " + request.getRoomId() + " не найден"));
         
-        Long hotelId = room.getHotel().getId();
+        Long hotelId = room.getHotelId();
         
         if (!room.getAvailable()) {
             log.warn("Номер {} недоступен", request.getRoomId());
@@ -179,23 +269,28 @@ public class RoomService {
                     .build();
         }
         
-        // Проверяем пересечение дат (упрощенная логика)
-        if (hasDateConflict(request.getRoomId(), request.getStartDate(), request.getEndDate())) {
-            log.warn("Номер {} занят на указанные даты", request.getRoomId());
+        // Временно блокируем номер (блокировка снимается сама по истечении TTL); пересечение с чужой
+        // блокировкой того же номера проверяется в реестре атомарно со вставкой
+        RoomHoldRegistry.HoldResult result = request.getRequestId() != null
+                ? roomHolds.hold(request.getRequestId(), request)
+                : roomHolds.isHeld(request.getRoomId(), request.getStartDate(), request.getEndDate())
+                        ? RoomHoldRegistry.HoldResult.CONFLICT
+                        : RoomHoldRegistry.HoldResult.HELD;
+        if (result != RoomHoldRegistry.HoldResult.HELD) {
+            boolean conflict = result == RoomHoldRegistry.HoldResult.CONFLICT;
+            if (conflict) {
+                log.warn("Номер {} занят на указанные даты", request.getRoomId());
+            }
             return RoomAvailabilityResponse.builder()
                     .available(false)
-                    .message("Номер занят на указанные даты")
+                    .message(conflict ? "Номер занят на указанные даты"
+                            : "Превышен лимит временных блокировок, повторите позже")
                     .requestId(request.getRequestId())
                     .roomId(request.getRoomId())
                     .hotelId(hotelId)
                     .build();
         }
-        
-        // Временно блокируем номер
-        if (request.getRequestId() != null) {
-            temporaryBlocks.put(request.getRequestId(), request);
-        }
-        
+
         log.info("Номер {} успешно заблокирован на период {} - {}", 
                 request.getRoomId(), request.getStartDate(), request.getEndDate());
         
@@ -215,14 +310,30 @@ public class RoomService {
     public void releaseRoomBlock(String requestId) {
         log.info("Освобождение блокировки номера для запроса: {}", requestId);
         
-        RoomAvailabilityRequest request = temporaryBlocks.remove(requestId);
+        RoomAvailabilityRequest request = roomHolds.release(requestId);
         if (request != null) {
             log.info("Блокировка номера {} успешно снята", request.getRoomId());
         } else {
-            log.warn("Блокировка для запроса {} не найдена", requestId);
+            log.warn("Блокировка для запроса {} не найдена (снята ранее или истекла)", requestId);
         }
     }
 
+    /**
+     * Пакетное освобождение временных блокировок (компенсация зависших бронирований)
+     *
+     * @return количество снятых блокировок
+     */
+    public int releaseRoomBlocks(Collection<String> requestIds) {
+        int released = 0;
+        for (String requestId : requestIds) {
+            if (roomHolds.release(requestId) != null) {
+                released++;
+            }
+        }
+        log.info("Снято {} из {} блокировок номеров", released, requestIds.size());
+        return released;
+    }
+
     /**
      * Подтверждение бронирования (увеличиваем счетчик)
      */
@@ -235,6 +346,7 @@ public class RoomService {
         
         room.incrementTimesBooked();
         roomRepository.save(room);
+        // Счетчик не входит в номера HotelDto, поэтому кэш каталога и индексы не инвалидируются
         
         log.info("Счетчик бронирований номера {} увеличен до {}", roomId, room.getTimesBooked());
     }
@@ -256,11 +368,68 @@ public class RoomService {
     }
 
     /**
-     * Проверка конфликта дат (упрощенная реализация)
+     * Страница в выбранном представлении: краткое - проекцией из базы, полное - через сущности и маппер
      */
-    private boolean hasDateConflict(Long roomId, LocalDate startDate, LocalDate endDate) {
-        // В реальной системе здесь была бы проверка с таблицей бронирований
-        // Для демонстрации возвращаем false
-        return false;
+    @SuppressWarnings("unchecked")
+    private CursorPage<? extends RoomView> fetchPage(ListFields fields, PageQuery page, Function<Class<?>, Window<?>> query) {
+        if (fields == ListFields.SUMMARY) {
+            return cursorPagination.toPage((Window<RoomSummaryDto>) query.apply(RoomSummaryDto.class), page);
+        }
+        Window<Room> rooms = (Window<Room>) query.apply(Room.class);
+        return cursorPagination.toPage(rooms.map(roomMapper::toDto), page);
+    }
+
+    /**
+     * Страница из ценового индекса; каждая запись перепроверяется по базе (номер доступен, цена в диапазоне)
+     * Записи, устаревшие между фиксацией изменения и обновлением индекса, пропускаются, а вместо них
+     * дочитываются следующие записи индекса, поэтому страница не становится короче; отели с устаревшими
+     * записями переиндексируются
+     */
+    private CursorPage<? extends RoomView> priceIndexPage(BigDecimal minPrice, BigDecimal maxPrice, ListFields fields,
+                                                          PageQuery page, Map<String, Object> cursorKeys) {
+        int limit = page.limit().max();
+        Map<Long, Room> loaded = new HashMap<>();
+        Set<Long> staleHotelIds = new HashSet<>();
+        List<Room> ordered = new ArrayList<>(limit);
+        boolean hasNext = false;
+        int requested = limit;
+        while (true) {
+            long[] ids = roomPriceIndex.findRange(minPrice, maxPrice,
+                    (BigDecimal) cursorKeys.get("pricePerNight"), (Long) cursorKeys.get("id"), requested);
+            List<Long> missing = Arrays.stream(ids).boxed().filter(id -> !loaded.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                missing.forEach(id -> loaded.put(id, null));
+                roomRepository.findAllById(missing).forEach(room -> loaded.put(room.getId(), room));
+            }
+
+            ordered.clear();
+            int rejected = 0;
+            for (long id : ids) {
+                Room room = loaded.get(id);
+                if (room == null || !room.getAvailable() || room.getPricePerNight().compareTo(minPrice) < 0
+                        || room.getPricePerNight().compareTo(maxPrice) > 0) {
+                    if (room != null) {
+                        staleHotelIds.add(room.getHotelId());
+                    }
+                    rejected++;
+                } else if (ordered.size() == limit) {
+                    hasNext = true;
+                    break;
+                } else {
+                    ordered.add(room);
+                }
+            }
+            // Индекс исчерпан или страница заполнена с запасом для признака следующей страницы
+            if (hasNext || ids.length <= requested) {
+                break;
+            }
+            requested = limit + rejected;
+        }
+        staleHotelIds.forEach(roomPriceIndex::reindexHotel);
+
+        Window<Room> window = Window.from(ordered, position -> ScrollPosition.keyset(), hasNext);
+        return fields == ListFields.SUMMARY
+                ? cursorPagination.toPage(window.map(roomMapper::toSummary), page)
+                : cursorPagination.toPage(window.map(roomMapper::toDto), page);
     }
 }
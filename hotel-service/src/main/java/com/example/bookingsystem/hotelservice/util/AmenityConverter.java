@@ -0,0 +1,23 @@
+package com.example.bookingsystem.hotelservice.util;
+
+import com.example.bookingsystem.hotelservice.entity.Amenity;
+import org.mapstruct.Named;
+
+/**
+ * Преобразования маски удобств для мапперов: в API удобства передаются перечнем названий через запятую
+ */
+public final class AmenityConverter {
+
+    private AmenityConverter() {
+    }
+
+    @Named("amenitiesToMask")
+    public static Long amenitiesToMask(String amenities) {
+        return Amenity.parseMask(amenities);
+    }
+
+    @Named("maskToAmenities")
+    public static String maskToAmenities(Long mask) {
+        return mask == null ? null : Amenity.formatMask(mask);
+    }
+}
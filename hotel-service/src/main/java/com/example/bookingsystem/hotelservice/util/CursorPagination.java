@@ -0,0 +1,166 @@
+package com.example.bookingsystem.hotelservice.util;
+
+import com.example.bookingsystem.hotelservice.dto.CursorPage;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Field;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Курсорная (keyset) пагинация списков
+ * Сортировка всегда дополняется ID, поэтому порядок стабилен и следующая страница выбирается условием
+ * WHERE (ключ, id) > (последний ключ, последний id) с LIMIT в базе, без OFFSET.
+ * Курсор - непрозрачная строка с ключами последней записи страницы.
+ * Сортировка допускается только по ID и столбцам NOT NULL: сравнение с NULL ключом не выбирает ни одной строки
+ */
+@Component
+public class CursorPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String ID = "id";
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorPagination(@Value("${hotel.pagination.default-size:50}") int defaultSize,
+                            @Value("${hotel.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Разбор параметров запроса страницы
+     *
+     * @param sort     свойство сортировки с необязательным направлением ("pricePerNight,desc")
+     * @param sortable свойства, по которым разрешена сортировка
+     * @param defaultSort сортировка по умолчанию (без ID)
+     */
+    public PageQuery parse(String cursor, Integer size, String sort, Class<?> entityType,
+                           Set<String> sortable, Sort defaultSort) {
+        Sort resolvedSort = withIdTieBreaker(sort == null || sort.isBlank()
+                ? defaultSort
+                : parseSort(sort, sortable));
+        resolvedSort.forEach(order -> requireNonNullable(entityType, order.getProperty()));
+        int pageSize = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : decode(cursor, resolvedSort, entityType);
+
+        return new PageQuery(position, resolvedSort, Limit.of(pageSize));
+    }
+
+    /**
+     * Страница из окна Spring Data с курсором на последнюю запись
+     * Ключи читаются из полей самой записи, поэтому курсор строится и для проекций, и для DTO
+     */
+    public <T> CursorPage<T> toPage(Window<T> window, PageQuery page) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return new CursorPage<>(window.getContent(), null);
+        }
+        DirectFieldAccessor last = new DirectFieldAccessor(window.getContent().get(window.size() - 1));
+        Map<String, Object> keys = new LinkedHashMap<>();
+        page.sort().forEach(order -> keys.put(order.getProperty(), last.getPropertyValue(order.getProperty())));
+        return new CursorPage<>(window.getContent(), encode(keys));
+    }
+
+    /**
+     * Ответ со списком в теле и курсором следующей страницы в заголовке
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(CursorPage<? extends T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(new ArrayList<>(page.items()));
+    }
+
+    private Sort parseSort(String sort, Set<String> sortable) {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!sortable.contains(property)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Сортировка по полю " + property + " не поддерживается, доступны: " + sortable);
+        }
+        boolean descending = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
+        return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, property);
+    }
+
+    /**
+     * Свойство сортировки должно быть ID или столбцом NOT NULL, иначе ключ последней записи может оказаться NULL
+     */
+    private static void requireNonNullable(Class<?> entityType, String property) {
+        Field field = ReflectionUtils.findField(entityType, property);
+        Column column = field == null ? null : field.getAnnotation(Column.class);
+        boolean nonNullable = field != null && (field.getType().isPrimitive()
+                || field.isAnnotationPresent(Id.class)
+                || column != null && !column.nullable());
+        if (!nonNullable) {
+            throw new IllegalStateException("Сортировка по полю " + property
+                    + " не поддерживается курсорной пагинацией: поле может быть NULL");
+        }
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(ID));
+    }
+
+    private static String encode(Map<String, ?> keys) {
+        List<String> parts = new ArrayList<>(keys.size());
+        keys.forEach((property, value) -> {
+            if (value == null) {
+                throw new IllegalStateException("Ключ сортировки " + property + " последней записи страницы равен NULL");
+            }
+            parts.add(property + "=" + URLEncoder.encode(CONVERSION.convert(value, String.class), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("&", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decode(String cursor, Sort sort, Class<?> entityType) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String part : decoded.split("&")) {
+                int separator = part.indexOf('=');
+                String property = part.substring(0, separator);
+                Field field = ReflectionUtils.findField(entityType, property);
+                if (field == null || sort.getOrderFor(property) == null) {
+                    throw new IllegalArgumentException(property);
+                }
+                String value = URLDecoder.decode(part.substring(separator + 1), StandardCharsets.UTF_8);
+                keys.put(property, CONVERSION.convert(value, field.getType()));
+            }
+            if (keys.size() != sort.stream().count()) {
+                throw new IllegalArgumentException("Курсор не соответствует сортировке");
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректный курсор", e);
+        }
+    }
+}
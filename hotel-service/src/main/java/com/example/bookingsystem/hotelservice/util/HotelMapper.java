@@ -14,7 +14,7 @@ import java.util.List;
 /**
  * Маппер для преобразования между сущностями и DTO отелей
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = AmenityConverter.class)
 public interface HotelMapper {
 
     HotelMapper INSTANCE = Mappers.getMapper(HotelMapper.class);
@@ -40,8 +40,11 @@ public interface HotelMapper {
 
     /**
      * Преобразование сущности номера в DTO
+     * Счетчик бронирований не входит в кэшируемый HotelDto: его изменение не инвалидирует кэш каталога
      */
-    @Mapping(target = "hotelId", source = "hotel.id")
+    @Mapping(target = "stayTotal", ignore = true)
+    @Mapping(target = "timesBooked", ignore = true)
+    @Mapping(target = "amenities", source = "amenityMask", qualifiedByName = "maskToAmenities")
     RoomDto roomToDto(Room room);
 
     /**
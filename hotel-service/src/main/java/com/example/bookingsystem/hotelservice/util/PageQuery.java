@@ -0,0 +1,11 @@
+package com.example.bookingsystem.hotelservice.util;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Параметры запроса страницы: позиция курсора, сортировка (всегда с ID для стабильности) и размер
+ */
+public record PageQuery(ScrollPosition position, Sort sort, Limit limit) {
+}
@@ -2,6 +2,7 @@ package com.example.bookingsystem.hotelservice.util;
 
 import com.example.bookingsystem.hotelservice.dto.CreateRoomRequest;
 import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.dto.RoomSummaryDto;
 import com.example.bookingsystem.hotelservice.entity.Room;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -12,7 +13,7 @@ import java.util.List;
 /**
  * Маппер для преобразования между сущностями и DTO номеров
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = AmenityConverter.class)
 public interface RoomMapper {
 
     RoomMapper INSTANCE = Mappers.getMapper(RoomMapper.class);
@@ -20,9 +21,15 @@ public interface RoomMapper {
     /**
      * Преобразование сущности номера в DTO
      */
-    @Mapping(target = "hotelId", source = "hotel.id")
+    @Mapping(target = "stayTotal", ignore = true)
+    @Mapping(target = "amenities", source = "amenityMask", qualifiedByName = "maskToAmenities")
     RoomDto toDto(Room room);
 
+    /**
+     * Преобразование сущности номера в краткое представление
+     */
+    RoomSummaryDto toSummary(Room room);
+
     /**
      * Преобразование списка сущностей номеров в список DTO
      */
@@ -33,9 +40,12 @@ public interface RoomMapper {
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "hotel", ignore = true)
+    @Mapping(target = "hotelId", ignore = true)
     @Mapping(target = "available", constant = "true")
     @Mapping(target = "timesBooked", constant = "0")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "ratePlan", ignore = true)
+    @Mapping(target = "amenityMask", source = "amenities", qualifiedByName = "amenitiesToMask")
     Room toEntity(CreateRoomRequest request);
 }
@@ -0,0 +1,36 @@
+-- Исходная схема Hotel Service (таблицы, которые раньше создавал hibernate ddl-auto)
+
+CREATE TABLE hotels (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(255)  NOT NULL,
+    address      VARCHAR(500)  NOT NULL,
+    description  VARCHAR(1000),
+    phone_number VARCHAR(20),
+    email        VARCHAR(100),
+    rating       FLOAT(53),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_hotels PRIMARY KEY (id)
+);
+
+CREATE TABLE rooms (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    hotel_id          BIGINT         NOT NULL,
+    room_number       VARCHAR(20)    NOT NULL,
+    room_type         VARCHAR(50)    NOT NULL,
+    capacity          INTEGER        NOT NULL,
+    price_per_night   NUMERIC(10, 2) NOT NULL,
+    rate_origin_day   BIGINT,
+    rate_night_totals BIGINT ARRAY,
+    description       VARCHAR(1000),
+    amenity_mask      BIGINT         NOT NULL,
+    available         BOOLEAN        NOT NULL,
+    times_booked      INTEGER        NOT NULL,
+    created_at        TIMESTAMP(6)   NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT pk_rooms PRIMARY KEY (id),
+    CONSTRAINT fk_rooms_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
+
+-- Поиск доступных номеров по ценовому диапазону с сортировкой по цене
+CREATE INDEX idx_rooms_available_price ON rooms (available, price_per_night);
@@ -0,0 +1,15 @@
+-- Индексы под запросы репозиториев и ограничения целостности каталога
+
+-- Номера отеля: списки по отелю, рекомендации (сортировка по times_booked), внешний ключ
+CREATE INDEX idx_rooms_hotel_times_booked ON rooms (hotel_id, times_booked);
+
+-- Номер комнаты уникален в пределах отеля (findByHotelIdAndRoomNumber)
+ALTER TABLE rooms ADD CONSTRAINT uq_rooms_hotel_room_number UNIQUE (hotel_id, room_number);
+
+ALTER TABLE rooms ADD CONSTRAINT ck_rooms_capacity CHECK (capacity > 0);
+ALTER TABLE rooms ADD CONSTRAINT ck_rooms_price CHECK (price_per_night >= 0);
+ALTER TABLE rooms ADD CONSTRAINT ck_rooms_times_booked CHECK (times_booked >= 0);
+
+-- Поиск отеля по названию и отбор по минимальному рейтингу
+CREATE INDEX idx_hotels_name ON hotels (name);
+CREATE INDEX idx_hotels_rating ON hotels (rating);
@@ -0,0 +1,6 @@
+-- Отель однозначно определяется названием и адресом: импорт каталога дополняет существующий отель,
+-- а не создает дубликат. Уникальный индекс начинается с name, поэтому отдельный индекс по названию не нужен
+
+CREATE UNIQUE INDEX uq_hotels_name_address ON hotels (name, address);
+
+DROP INDEX idx_hotels_name;
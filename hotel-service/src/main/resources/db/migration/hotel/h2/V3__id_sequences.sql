@@ -0,0 +1,8 @@
+-- Последовательности идентификаторов (pooled, шаг 50 = allocationSize): Hibernate выделяет идентификаторы блоками
+-- и объединяет вставки в JDBC пакеты. Для существующих строк последовательность сдвигается за MAX(id)
+
+CREATE SEQUENCE hotels_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rooms_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE hotels_seq RESTART WITH (SELECT COALESCE(MAX(id) + 51, 1) FROM hotels);
+ALTER SEQUENCE rooms_seq RESTART WITH (SELECT COALESCE(MAX(id) + 51, 1) FROM rooms);
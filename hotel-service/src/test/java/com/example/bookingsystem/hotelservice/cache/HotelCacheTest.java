@@ -0,0 +1,112 @@
+package com.example.bookingsystem.hotelservice.cache;
+
+import com.example.bookingsystem.hotelservice.config.CacheConfig;
+import com.example.bookingsystem.hotelservice.dto.CreateHotelRequest;
+import com.example.bookingsystem.hotelservice.dto.CreateRoomRequest;
+import com.example.bookingsystem.hotelservice.dto.HotelDto;
+import com.example.bookingsystem.hotelservice.dto.RoomDto;
+import com.example.bookingsystem.hotelservice.service.HotelService;
+import com.example.bookingsystem.hotelservice.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Кэш каталога отелей: повторное чтение из кэша, очистка при изменении номеров, но не при бронированиях
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class HotelCacheTest {
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private HotelDto hotel;
+    private RoomDto room;
+
+    @BeforeEach
+    void setUp() {
+        hotel = hotelService.createHotel(CreateHotelRequest.builder()
+                .name("Кэш Тест " + System.nanoTime())
+                .address("Тестовая улица, 1")
+                .rating(4.0)
+                .build());
+        room = roomService.createRoom(CreateRoomRequest.builder()
+                .hotelId(hotel.getId())
+                .roomNumber("101")
+                .roomType("Стандарт")
+                .capacity(2)
+                .pricePerNight(new BigDecimal("5000.00"))
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getHotelById_ShouldServeRepeatedReadsFromCache() {
+        HotelDto first = hotelService.getHotelById(hotel.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        HotelDto second = hotelService.getHotelById(hotel.getId()).orElseThrow();
+
+        assertThat(statements).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(second).isEqualTo(first);
+        assertThat(cacheManager.getCache(CacheConfig.HOTELS).get(hotel.getId())).isNotNull();
+    }
+
+    @Test
+    void confirmAndCancelBooking_ShouldKeepCachedHotel() {
+        HotelDto cached = hotelService.getHotelById(hotel.getId()).orElseThrow();
+        assertThat(cachedRoom(cached).getTimesBooked()).isNull();
+
+        roomService.confirmBooking(room.getId());
+        roomService.cancelBooking(room.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.HOTELS).get(hotel.getId())).isNotNull();
+        assertThat(hotelService.getHotelById(hotel.getId()).orElseThrow()).isEqualTo(cached);
+    }
+
+    @Test
+    void createRoom_ShouldEvictCachedHotel() {
+        hotelService.getHotelById(hotel.getId()).orElseThrow();
+
+        roomService.createRoom(CreateRoomRequest.builder()
+                .hotelId(hotel.getId())
+                .roomNumber("102")
+                .roomType("Стандарт")
+                .capacity(2)
+                .pricePerNight(new BigDecimal("5000.00"))
+                .build());
+
+        assertThat(cacheManager.getCache(CacheConfig.HOTELS).get(hotel.getId())).isNull();
+        assertThat(hotelService.getHotelById(hotel.getId()).orElseThrow().getRooms()).hasSize(2);
+    }
+
+    private RoomDto cachedRoom(HotelDto cached) {
+        return cached.getRooms().stream()
+                .filter(candidate -> candidate.getId().equals(room.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
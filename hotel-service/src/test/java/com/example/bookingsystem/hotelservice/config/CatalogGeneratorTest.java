@@ -0,0 +1,64 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты генератора синтетического каталога
+ */
+@SpringBootTest(properties = {
+        // Отдельная база: сгенерированный каталог не влияет на другие тесты
+        "spring.datasource.url=jdbc:h2:mem:generatortest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "hotel.generator.enabled=true",
+        "hotel.generator.hotels=40",
+        "hotel.generator.rooms=1500",
+        "hotel.generator.chunk-size=100"
+})
+@ActiveProfiles("test")
+class CatalogGeneratorTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesCatalogInsteadOfDemoData() {
+        assertThat(hotelRepository.count()).isEqualTo(40);
+        assertThat(roomRepository.count()).isEqualTo(1500);
+        assertThat(hotelRepository.findByName("Гранд Отель Москва")).isEmpty();
+
+        // У каждого отеля есть номера, номера комнат в отеле не повторяются
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM hotels h WHERE NOT EXISTS (SELECT 1 FROM rooms r WHERE r.hotel_id = h.id)",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT hotel_id, room_number FROM rooms GROUP BY hotel_id, room_number HAVING COUNT(*) > 1) d",
+                Long.class)).isZero();
+
+        // Неравномерные распределения: Москва - самый крупный город, размеры отелей и цены заметно различаются
+        String topCity = jdbcTemplate.queryForObject("""
+                SELECT city FROM (SELECT TRIM(SUBSTRING(address, LOCATE(',', address, LOCATE(',', address) + 1) + 1)) AS city
+                                  FROM hotels) c
+                GROUP BY city ORDER BY COUNT(*) DESC LIMIT 1
+                """, String.class);
+        assertThat(topCity).isEqualTo("Москва");
+        Integer largest = jdbcTemplate.queryForObject(
+                "SELECT MAX(cnt) FROM (SELECT COUNT(*) AS cnt FROM rooms GROUP BY hotel_id) s", Integer.class);
+        assertThat(largest).isGreaterThan(1500 / 40 * 2);
+        Double priceSpread = jdbcTemplate.queryForObject(
+                "SELECT MAX(price_per_night) / MIN(price_per_night) FROM rooms", Double.class);
+        assertThat(priceSpread).isGreaterThan(4);
+    }
+}
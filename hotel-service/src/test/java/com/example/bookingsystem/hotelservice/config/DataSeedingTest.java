@@ -0,0 +1,60 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.example.bookingsystem.hotelservice.cache.CatalogSeededEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты для DataSeeding
+ */
+class DataSeedingTest {
+
+    @Test
+    void runsTasksImmediatelyWhenSynchronous() {
+        List<Object> events = new CopyOnWriteArrayList<>();
+        DataSeeding seeding = new DataSeeding(events::add, false);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        seeding.submit("a", () -> executed.add("a"));
+
+        assertThat(executed).containsExactly("a");
+        assertThat(seeding.health().getStatus()).isEqualTo(Status.UP);
+        seeding.start();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void defersTasksUntilReadyAndReportsOutOfService() throws Exception {
+        CountDownLatch seeded = new CountDownLatch(1);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        DataSeeding seeding = new DataSeeding(event -> {
+            events.add(event);
+            seeded.countDown();
+        }, true);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        seeding.submit("a", () -> executed.add("a"));
+        seeding.submit("failing", () -> {
+            throw new IllegalStateException("сбой");
+        });
+        seeding.submit("b", () -> executed.add("b"));
+
+        assertThat(executed).isEmpty();
+        assertThat(seeding.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        seeding.start();
+
+        assertThat(seeded.await(5, TimeUnit.SECONDS)).isTrue();
+        // Ошибка одной задачи не останавливает остальные
+        assertThat(executed).containsExactly("a", "b");
+        assertThat(events).singleElement().isInstanceOf(CatalogSeededEvent.class);
+        assertThat(seeding.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.bookingsystem.hotelservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты размера пула соединений и публикации его метрик
+ */
+@SpringBootTest(properties = {
+        "hotel.datasource.pool.expected-concurrency=40",
+        "hotel.datasource.pool.connection-hold-ratio=0.25",
+        "spring.datasource.hikari.pool-name=hotel-test-pool"
+})
+@ActiveProfiles("test")
+class DataSourcePoolConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void sizesPoolFromExpectedConcurrency() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(10);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "hotel-test-pool").gauge().value())
+                .isEqualTo(10.0);
+    }
+
+    @Test
+    void clampsPoolSize() {
+        assertThat(DataSourcePoolConfig.poolSize(1, 0.25, 2, 50)).isEqualTo(2);
+        assertThat(DataSourcePoolConfig.poolSize(1000, 0.5, 2, 50)).isEqualTo(50);
+        assertThat(DataSourcePoolConfig.poolSize(10, 0.33, 2, 50)).isEqualTo(4);
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.bookingsystem.hotelservice.controller;
 
+import com.example.bookingsystem.hotelservice.config.SecurityConfig;
 import com.example.bookingsystem.hotelservice.dto.CreateHotelRequest;
+import com.example.bookingsystem.hotelservice.dto.CursorPage;
 import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import com.example.bookingsystem.hotelservice.service.HotelImportService;
 import com.example.bookingsystem.hotelservice.service.HotelService;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,7 +31,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Тесты для HotelController
  */
-@WebMvcTest(HotelController.class)
+@WebMvcTest(controllers = HotelController.class,
+        properties = "security.gateway.internal-token=test-gateway-token")
+@Import({SecurityConfig.class, CursorPagination.class})
 class HotelControllerTest {
 
     @Autowired
@@ -38,6 +45,9 @@ class HotelControllerTest {
     @MockBean
     private HotelRepository hotelRepository;
 
+    @MockBean
+    private HotelImportService hotelImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,10 +92,44 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.rating").value(4.5));
     }
 
+    @Test
+    void createHotel_WithTrustedGatewayHeaders_ShouldReturnCreatedHotel() throws Exception {
+        // Given
+        when(hotelService.createHotel(any(CreateHotelRequest.class))).thenReturn(
+                com.example.bookingsystem.hotelservice.dto.HotelDto.builder()
+                        .id(1L)
+                        .name("Тестовый Отель")
+                        .address("Тестовая улица, 1")
+                        .build()
+        );
+
+        // When & Then
+        mockMvc.perform(post("/api/hotels")
+                        .header("X-Gateway-Token", "test-gateway-token")
+                        .header("X-User-Name", "admin")
+                        .header("X-User-Role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Тестовый Отель"));
+    }
+
+    @Test
+    void createHotel_WithSpoofedGatewayHeaders_ShouldReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/hotels")
+                        .header("X-Gateway-Token", "wrong-token")
+                        .header("X-User-Name", "admin")
+                        .header("X-User-Role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getAllHotels_ShouldReturnListOfHotels() throws Exception {
         // Given
-        when(hotelService.getAllHotels()).thenReturn(List.of(
+        when(hotelService.getAllHotels(any(), any())).thenAnswer(invocation -> new CursorPage<>(List.of(
                 com.example.bookingsystem.hotelservice.dto.HotelDto.builder()
                         .id(1L)
                         .name("Отель 1")
@@ -98,11 +142,12 @@ class HotelControllerTest {
                         .address("Адрес 2")
                         .rating(4.5)
                         .build()
-        ));
+        ), "next-cursor"));
 
         // When & Then
-        mockMvc.perform(get("/api/hotels"))
+        mockMvc.perform(get("/api/hotels").param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorPagination.NEXT_CURSOR_HEADER, "next-cursor"))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].name").value("Отель 1"))
                 .andExpect(jsonPath("$[1].name").value("Отель 2"));
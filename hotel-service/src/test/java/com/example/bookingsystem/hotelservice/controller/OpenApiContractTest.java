@@ -0,0 +1,39 @@
+package com.example.bookingsystem.hotelservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Схема OpenAPI списков: тип элементов не стирается, варианты fields описаны через oneOf
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OpenApiContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listEndpoints_ShouldDescribeFullAndSummaryItems() throws Exception {
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/rooms'].get.responses['200'].content['*/*'].schema.items['$ref']")
+                        .value("#/components/schemas/RoomView"))
+                .andExpect(jsonPath("$.paths['/api/hotels'].get.responses['200'].content['*/*'].schema.items['$ref']")
+                        .value("#/components/schemas/HotelView"))
+                .andExpect(jsonPath("$.components.schemas.RoomView.oneOf[*]['$ref']").value(containsInAnyOrder(
+                        "#/components/schemas/RoomDto", "#/components/schemas/RoomSummaryDto")))
+                .andExpect(jsonPath("$.components.schemas.HotelView.oneOf[*]['$ref']").value(containsInAnyOrder(
+                        "#/components/schemas/HotelDto", "#/components/schemas/HotelSummaryDto")));
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.bookingsystem.hotelservice.controller;
+
+import com.example.bookingsystem.hotelservice.entity.RatePlan;
+import com.example.bookingsystem.hotelservice.entity.Room;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import com.example.bookingsystem.hotelservice.search.RoomPriceIndex;
+import com.example.bookingsystem.hotelservice.util.CursorPagination;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Количество SQL запросов на endpoint: список номеров не должен догружать отели по одному
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomPriceIndex roomPriceIndex;
+
+    private Statistics statistics;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        room = roomRepository.findAll().get(0);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllAvailableRooms_ShouldExecuteSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hotelId").isNumber());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getRoomsByHotelId_ShouldExecuteSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/hotel/{hotelId}", room.getHotelId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hotelId").value(room.getHotelId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getRecommendedRooms_ShouldExecuteSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/recommend").param("hotelId", room.getHotelId().toString()))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getRoomsByType_ShouldExecuteSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/search/type").param("roomType", room.getRoomType()))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllHotels_ShouldLoadRoomsInOneBatch() throws Exception {
+        mockMvc.perform(get("/api/hotels"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rooms").isArray());
+
+        // Отели + одна пачка номеров для всех отелей
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getAllAvailableRooms_WithSummaryFields_ShouldSelectProjection() throws Exception {
+        mockMvc.perform(get("/api/rooms").param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].roomNumber").isString())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getAllHotels_WithSummaryFields_ShouldSkipRooms() throws Exception {
+        mockMvc.perform(get("/api/hotels").param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").isString())
+                .andExpect(jsonPath("$[0].rooms").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getAllAvailableRooms_ByPages_ShouldFollowCursorWithSingleStatementPerPage() throws Exception {
+        long available = roomRepository.findAll().stream().filter(Room::getAvailable).count();
+        statistics.clear();
+
+        MvcResult first = mockMvc.perform(get("/api/rooms").param("size", "2").param("sort", "pricePerNight,desc")
+                        .param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists(CursorPagination.NEXT_CURSOR_HEADER))
+                .andReturn();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        String cursor = first.getResponse().getHeader(CursorPagination.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/api/rooms").param("size", "200").param("sort", "pricePerNight,desc")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(available - 2))
+                .andExpect(header().doesNotExist(CursorPagination.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllAvailableRooms_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rooms").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRoomsByPriceRange_ShouldPageFromPriceIndexWithSingleStatement() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/rooms/search/price")
+                        .param("minPrice", "6000").param("maxPrice", "12000").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].pricePerNight").value(6000.0))
+                .andExpect(jsonPath("$[3].pricePerNight").value(10000.0))
+                .andExpect(header().exists(CursorPagination.NEXT_CURSOR_HEADER))
+                .andReturn();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/rooms/search/price")
+                        .param("minPrice", "6000").param("maxPrice", "12000").param("size", "4")
+                        .param("cursor", first.getResponse().getHeader(CursorPagination.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].pricePerNight").value(everyItem(equalTo(12000.0))))
+                .andExpect(header().doesNotExist(CursorPagination.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getRoomsByPriceRange_WithStaleIndexEntry_ShouldKeepPageFullAndRefreshIndex() throws Exception {
+        Room cheapest = roomRepository.findAll().stream()
+                .filter(candidate -> candidate.getPricePerNight().compareTo(new BigDecimal("6000")) >= 0)
+                .min(Comparator.comparing(Room::getPricePerNight).thenComparing(Room::getId))
+                .orElseThrow();
+        int indexed = roomPriceIndex.size();
+        // Изменение в обход сервиса: индекс еще содержит недоступный номер
+        cheapest.setAvailable(false);
+        roomRepository.save(cheapest);
+        try {
+            mockMvc.perform(get("/api/rooms/search/price")
+                            .param("minPrice", "6000").param("maxPrice", "12000").param("size", "4"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(4))
+                    .andExpect(jsonPath("$[*].id").value(not(hasItem(cheapest.getId().intValue()))))
+                    .andExpect(header().exists(CursorPagination.NEXT_CURSOR_HEADER));
+            assertThat(roomPriceIndex.size()).isEqualTo(indexed - 1);
+
+            // Номер снова доступен; событие от другого экземпляра возвращает его в индекс
+            cheapest.setAvailable(true);
+            roomRepository.save(cheapest);
+            mockMvc.perform(post("/internal/cache/hotels/evict")
+                            .param("hotelId", cheapest.getHotelId().toString()).param("origin", "peer")
+                            .with(user("peer").roles("SERVICE")).with(csrf()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/rooms/search/price")
+                            .param("minPrice", "6000").param("maxPrice", "12000").param("size", "4"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(cheapest.getId()));
+            assertThat(roomPriceIndex.size()).isEqualTo(indexed);
+        } finally {
+            cheapest.setAvailable(true);
+            roomRepository.save(cheapest);
+            roomPriceIndex.reindexHotel(cheapest.getHotelId());
+        }
+    }
+
+    @Test
+    void getQuotes_ShouldPriceAllRoomsWithSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/quotes")
+                        .param("roomIds", room.getId().toString(), "999999")
+                        .param("startDate", "2030-01-10").param("endDate", "2030-01-13"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nights").value(3))
+                .andExpect(jsonPath("$[0].totalPrice").value(room.getPricePerNight().doubleValue() * 3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getQuote_WithSeasonalRatePlan_ShouldUsePlanForBothQuoteAndSearch() throws Exception {
+        Room seasonal = roomRepository.findAll().get(1);
+        BigDecimal base = seasonal.getPricePerNight();
+        seasonal.setRatePlan(RatePlan.compile(base, List.of(new RatePlan.Season(
+                LocalDate.of(2030, 12, 30), LocalDate.of(2031, 1, 2), base.multiply(BigDecimal.valueOf(2))))));
+        roomRepository.save(seasonal);
+        String expected = base.multiply(BigDecimal.valueOf(5)).toPlainString();
+        try {
+            // 29.12 по базовой цене, 30.12 и 31.12 по двойной
+            statistics.clear();
+            mockMvc.perform(get("/api/rooms/{id}/quote", seasonal.getId())
+                            .param("startDate", "2030-12-29").param("endDate", "2031-01-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalPrice").value(Double.parseDouble(expected)));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            mockMvc.perform(get("/api/rooms/search").param("hotelId", seasonal.getHotelId().toString())
+                            .param("startDate", "2030-12-29").param("endDate", "2031-01-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.id == %d)].stayTotal", seasonal.getId())
+                            .value(Double.parseDouble(expected)));
+        } finally {
+            seasonal.setRatePlan(null);
+            roomRepository.save(seasonal);
+        }
+    }
+
+    @Test
+    void searchRooms_WithCombinedCriteria_ShouldExecuteSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/rooms/search")
+                        .param("minCapacity", "2")
+                        .param("maxPrice", "10000")
+                        .param("amenities", "балкон", "сейф"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].roomNumber").value("302"))
+                .andExpect(jsonPath("$[0].amenities").value("WiFi, кондиционер, сейф, балкон"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void searchRooms_WithUnknownAmenity_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rooms/search").param("amenities", "бассейн"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchRooms_WithInvertedPriceRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rooms/search").param("minPrice", "5000").param("maxPrice", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void confirmAvailabilityAndRelease_WithoutServiceRole_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(post("/api/rooms/{id}/confirm-availability", room.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"startDate": "2030-02-10", "endDate": "2030-02-12", "roomId": %d, "requestId": "query-count-anon"}
+                                """.formatted(room.getId()))
+                        .with(user("guest").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/rooms/{id}/release", room.getId())
+                        .param("requestId", "query-count-1")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void confirmAvailability_ShouldNotLoadHotel() throws Exception {
+        String body = """
+                {"startDate": "2030-01-10", "endDate": "2030-01-12", "roomId": %d, "requestId": "query-count-1"}
+                """.formatted(room.getId());
+
+        mockMvc.perform(post("/api/rooms/{id}/confirm-availability", room.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(user("booking-service").roles("SERVICE"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hotelId").value(room.getHotelId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // Повторный запрос (идемпотентный путь) читает только hotel_id
+        statistics.clear();
+        mockMvc.perform(post("/api/rooms/{id}/confirm-availability", room.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(user("booking-service").roles("SERVICE"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hotelId").value(room.getHotelId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseRoomBlocks_ShouldRequireServiceRoleAndSkipDatabase() throws Exception {
+        mockMvc.perform(post("/api/rooms/release")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"query-count-release\"]")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        // Блокировки хранятся в памяти: пакетное снятие не открывает транзакцию и не обращается к базе
+        mockMvc.perform(post("/api/rooms/release")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"query-count-release\"]")
+                        .with(user("booking-service").roles("SERVICE"))
+                        .with(csrf()))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
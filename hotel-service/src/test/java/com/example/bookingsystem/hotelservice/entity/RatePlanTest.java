@@ -0,0 +1,74 @@
+package com.example.bookingsystem.hotelservice.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тесты для RatePlan
+ */
+class RatePlanTest {
+
+    private static final BigDecimal BASE = new BigDecimal("5000.00");
+
+    // 1-5 января по 9000, 5-8 января по базовой цене, 8-10 января по 7000
+    private final RatePlan plan = RatePlan.compile(BASE, List.of(
+            season("2030-01-08", "2030-01-10", "7000"),
+            season("2030-01-01", "2030-01-05", "9000")));
+
+    @Test
+    void stayTotal_InsidePlan_ShouldSumNightlyRates() {
+        assertThat(total("2030-01-03", "2030-01-09")).isEqualTo(2 * 9000 + 3 * 5000 + 7000);
+    }
+
+    @Test
+    void stayTotal_AroundPlan_ShouldChargeBasePriceOutsideHorizon() {
+        assertThat(total("2029-12-30", "2030-01-02")).isEqualTo(2 * 5000 + 9000);
+        assertThat(total("2030-01-09", "2030-01-12")).isEqualTo(7000 + 2 * 5000);
+        assertThat(total("2030-02-01", "2030-02-03")).isEqualTo(2 * 5000);
+    }
+
+    @Test
+    void stayTotal_WithoutPlan_ShouldChargeBasePrice() {
+        long total = RatePlan.stayTotal(RatePlan.toMinorUnits(BASE), null, null,
+                LocalDate.parse("2030-01-01").toEpochDay(), LocalDate.parse("2030-01-04").toEpochDay());
+
+        assertThat(total).isEqualTo(3 * 500_000L);
+    }
+
+    @Test
+    void compile_WithOverlappingSeasons_ShouldBeRejected() {
+        assertThatThrownBy(() -> RatePlan.compile(BASE, List.of(
+                season("2030-01-01", "2030-01-05", "9000"),
+                season("2030-01-04", "2030-01-10", "7000"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compile_WithReversedSeason_ShouldBeRejectedAsInvalidRequest() {
+        // Единственный перевернутый сезон дает отрицательный горизонт
+        assertThatThrownBy(() -> RatePlan.compile(BASE, List.of(season("2030-01-10", "2030-01-01", "9000"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("дата окончания должна быть позже даты начала");
+        assertThatThrownBy(() -> RatePlan.compile(BASE, List.of(
+                season("2030-01-01", "2030-01-05", "9000"),
+                season("2030-01-20", "2030-01-20", "7000"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("дата окончания должна быть позже даты начала");
+    }
+
+    private long total(String startDate, String endDate) {
+        long minor = RatePlan.stayTotal(RatePlan.toMinorUnits(BASE), plan.getOriginDay(), plan.getNightTotals(),
+                LocalDate.parse(startDate).toEpochDay(), LocalDate.parse(endDate).toEpochDay());
+        return minor / 100;
+    }
+
+    private static RatePlan.Season season(String startDate, String endDate, String price) {
+        return new RatePlan.Season(LocalDate.parse(startDate), LocalDate.parse(endDate), new BigDecimal(price));
+    }
+}
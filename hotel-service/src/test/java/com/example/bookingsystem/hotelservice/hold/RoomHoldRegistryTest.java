@@ -0,0 +1,226 @@
+package com.example.bookingsystem.hotelservice.hold;
+
+import com.example.bookingsystem.hotelservice.dto.RoomAvailabilityRequest;
+import com.example.bookingsystem.hotelservice.hold.RoomHoldRegistry.HoldResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тесты для RoomHoldRegistry
+ */
+class RoomHoldRegistryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomHoldRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RoomHoldRegistry(meterRegistry, TTL, 3, 30, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void expiresHoldsAfterTtl() {
+        registry.hold("r1", request(1L));
+        registry.hold("r2", request(2L));
+
+        assertThat(registry.expireDue(System.nanoTime())).isZero();
+        assertThat(registry.size()).isEqualTo(2);
+
+        assertThat(registry.expireDue(System.nanoTime() + TTL.toNanos())).isEqualTo(2);
+        assertThat(registry.contains("r1")).isFalse();
+        assertThat(meterRegistry.get("hotel.room.holds.expired").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("hotel.room.holds.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void retriesDoNotAddEntries() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(registry.hold("r1", request(1L))).isEqualTo(HoldResult.HELD);
+        }
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("hotel.room.holds.active").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsHoldsOverLimitOfActiveHolds() {
+        registry.hold("r1", request(1L));
+        registry.hold("r2", request(2L));
+        registry.hold("r3", request(3L));
+
+        assertThat(registry.hold("r4", request(4L))).isEqualTo(HoldResult.LIMIT_EXCEEDED);
+        assertThat(meterRegistry.get("hotel.room.holds.rejected").counter().count()).isEqualTo(1.0);
+        // Повтор уже поставленной блокировки при исчерпанном лимите не отклоняется
+        assertThat(registry.hold("r3", request(3L))).isEqualTo(HoldResult.HELD);
+
+        // Снятая досрочно блокировка сразу освобождает место
+        registry.release("r1");
+        assertThat(registry.hold("r4", request(4L))).isEqualTo(HoldResult.HELD);
+        assertThat(registry.hold("r5", request(5L))).isEqualTo(HoldResult.LIMIT_EXCEEDED);
+
+        registry.expireDue(System.nanoTime() + TTL.toNanos());
+        assertThat(meterRegistry.get("hotel.room.holds.expired").counter().count()).isEqualTo(3.0);
+        assertThat(registry.hold("r5", request(5L))).isEqualTo(HoldResult.HELD);
+    }
+
+    @Test
+    void concurrentHoldsNeverExceedLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 100;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (registry.hold("r" + (offset + i), request((long) offset + i)) == HoldResult.HELD) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accepted.get()).isEqualTo(3);
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(meterRegistry.get("hotel.room.holds.rejected").counter().count()).isEqualTo(797.0);
+    }
+
+    @Test
+    void releasedAndReheldHoldIsNotExpiredByStaleEntry() throws InterruptedException {
+        registry.hold("r1", request(1L));
+        long firstDeadline = System.nanoTime() + TTL.toNanos();
+        Thread.sleep(5);
+        registry.release("r1");
+        registry.hold("r1", request(1L));
+
+        // Истекает запись первой блокировки, повторная с тем же requestId остается
+        assertThat(registry.expireDue(firstDeadline)).isZero();
+        assertThat(registry.contains("r1")).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void blockedRoomIdsFollowHoldLifecycle() {
+        registry.hold("r1", request(1L));
+        registry.hold("r2", request(2L, LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 5)));
+
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 3))).containsExactly(1L);
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10)))
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 6))).isEmpty();
+
+        registry.release("r1");
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 4))).containsExactly(2L);
+
+        registry.expireDue(System.nanoTime() + TTL.toNanos());
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 4))).isEmpty();
+    }
+
+    @Test
+    void rejectsOverlappingHoldOfSameRoom() {
+        assertThat(registry.hold("r1", request(1L))).isEqualTo(HoldResult.HELD);
+
+        // Тот же номер на пересекающиеся ночи - отказ; соседние ночи и другой номер - свободны
+        assertThat(registry.hold("r2", request(1L, LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 4))))
+                .isEqualTo(HoldResult.CONFLICT);
+        assertThat(registry.hold("r3", request(1L, LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 4))))
+                .isEqualTo(HoldResult.HELD);
+        assertThat(registry.hold("r4", request(2L))).isEqualTo(HoldResult.HELD);
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(meterRegistry.get("hotel.room.holds.rejected").counter().count()).isZero();
+
+        registry.release("r1");
+        assertThat(registry.hold("r2", request(1L, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3))))
+                .isEqualTo(HoldResult.HELD);
+    }
+
+    @Test
+    void concurrentOverlappingHoldsGrantOnlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger held = new AtomicInteger();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                String requestId = "r" + thread;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    if (registry.hold(requestId, request(1L)) == HoldResult.HELD) {
+                        held.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(held.get()).isEqualTo(1);
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsReversedAndOversizedPeriods() {
+        assertThatThrownBy(() -> registry.hold("r1",
+                request(1L, LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.hold("r2",
+                request(2L, LocalDate.of(2030, 1, 3), LocalDate.of(2030, 1, 3))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.size()).isZero();
+        assertThat(registry.blockedRoomIds(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10))).isEmpty();
+        // Период ровно в max-nights ночей допустим
+        assertThat(registry.hold("r3", request(3L, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31)))).isEqualTo(HoldResult.HELD);
+    }
+
+    private static RoomAvailabilityRequest request(Long roomId) {
+        return request(roomId, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3));
+    }
+
+    private static RoomAvailabilityRequest request(Long roomId, LocalDate startDate, LocalDate endDate) {
+        RoomAvailabilityRequest request = new RoomAvailabilityRequest();
+        request.setRoomId(roomId);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return request;
+    }
+}
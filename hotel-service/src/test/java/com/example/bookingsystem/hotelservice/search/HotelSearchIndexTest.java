@@ -0,0 +1,92 @@
+package com.example.bookingsystem.hotelservice.search;
+
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для HotelSearchIndex
+ */
+class HotelSearchIndexTest {
+
+    private HotelSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelSearchIndex(mock(HotelRepository.class), 0.5);
+        index.index(new HotelSearchDocument(1L, "Гранд Отель Москва", "Москва, Тверская улица, 1", 4.8));
+        index.index(new HotelSearchDocument(2L, "Бизнес Отель", "Санкт-Петербург, Невский проспект, 50", 4.2));
+        index.index(new HotelSearchDocument(3L, "Эконом Хостел", "Москва, Арбат, 15", 3.5));
+    }
+
+    @Test
+    void search_ByCityPrefix_ShouldRankByRelevanceThenRating() {
+        List<Long> ids = hotelIds(index.search("моск"));
+
+        assertThat(ids).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_WithTypo_ShouldStillFindHotel() {
+        assertThat(hotelIds(index.search("Питербург"))).containsExactly(2L);
+        assertThat(hotelIds(index.search("масква"))).contains(1L, 3L);
+    }
+
+    @Test
+    void search_ByNameOnly_ShouldIgnoreAddress() {
+        List<Long> ids = hotelIds(index.search("москва", EnumSet.of(HotelSearchIndex.Field.NAME)));
+
+        assertThat(ids).containsExactly(1L);
+    }
+
+    @Test
+    void index_AfterUpdateAndRemove_ShouldReflectChanges() {
+        index.index(new HotelSearchDocument(2L, "Бизнес Отель", "Казань, Баумана, 3", 4.2));
+        index.remove(3L);
+
+        assertThat(hotelIds(index.search("петербург"))).isEmpty();
+        assertThat(hotelIds(index.search("казань"))).containsExactly(2L);
+        assertThat(hotelIds(index.search("арбат"))).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void search_BySubstringInsideWord_ShouldMatchAsLike() {
+        assertThat(hotelIds(index.search("ска"))).containsExactly(1L);
+        assertThat(hotelIds(index.search("тел", EnumSet.of(HotelSearchIndex.Field.NAME)))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void search_BySubstringAcrossWords_ShouldCheckOnlyPostingCandidates() {
+        assertThat(HotelSearchIndex.innerGrams("ская ул")).containsExactly("ска", "кая");
+        assertThat(hotelIds(index.search("ерская ули", EnumSet.of(HotelSearchIndex.Field.ADDRESS))))
+                .containsExactly(1L);
+        // Внутренней триграммы "ска" нет в названиях - подстрока в названиях не ищется
+        assertThat(hotelIds(index.search("ска", EnumSet.of(HotelSearchIndex.Field.NAME)))).isEmpty();
+    }
+
+    @Test
+    void isReady_ShouldBecomeTrueOnlyAfterRebuild() {
+        HotelRepository repository = mock(HotelRepository.class);
+        when(repository.findAllSearchDocuments())
+                .thenReturn(List.of(new HotelSearchDocument(1L, "Гранд Отель", "Москва", 4.8)));
+        HotelSearchIndex fresh = new HotelSearchIndex(repository, 0.5);
+
+        assertThat(fresh.isReady()).isFalse();
+        fresh.rebuild();
+
+        assertThat(fresh.isReady()).isTrue();
+        assertThat(hotelIds(fresh.search("гранд"))).containsExactly(1L);
+    }
+
+    private static List<Long> hotelIds(List<HotelSearchHit> hits) {
+        return hits.stream().map(HotelSearchHit::hotelId).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bookingsystem.hotelservice.search;
+
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Тесты для RoomPriceIndex
+ */
+class RoomPriceIndexTest {
+
+    private RoomPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomPriceIndex(mock(RoomRepository.class));
+        index.load(List.of(
+                entry(1L, 1L, "15000.00"),
+                entry(2L, 1L, "8000.00"),
+                entry(3L, 1L, "12000.00"),
+                entry(5L, 2L, "6000.00"),
+                entry(6L, 2L, "8000.00"),
+                entry(8L, 3L, "3000.00")));
+    }
+
+    @Test
+    void findRange_ShouldReturnIdsOrderedByPriceThenId() {
+        long[] ids = index.findRange(new BigDecimal("6000"), new BigDecimal("12000"), null, null, 10);
+
+        assertThat(ids).containsExactly(5L, 2L, 6L, 3L);
+    }
+
+    @Test
+    void findRange_ShouldRoundBoundsInwardAndReturnOneExtraIdForNextPage() {
+        long[] ids = index.findRange(new BigDecimal("5999.999"), new BigDecimal("8000.001"), null, null, 2);
+
+        assertThat(ids).containsExactly(5L, 2L, 6L);
+        assertThat(index.findRange(new BigDecimal("8000.01"), new BigDecimal("7999.99"), null, null, 2)).isEmpty();
+    }
+
+    @Test
+    void findRange_AfterCursor_ShouldContinueWithinEqualPrices() {
+        long[] ids = index.findRange(new BigDecimal("6000"), new BigDecimal("12000"),
+                new BigDecimal("8000.00"), 2L, 10);
+
+        assertThat(ids).containsExactly(6L, 3L);
+    }
+
+    @Test
+    void replaceHotel_ShouldMergeHotelRoomsIntoSortedOrder() {
+        index.replaceHotel(1L, List.of(entry(2L, 1L, "7000.00"), entry(9L, 1L, "3000.00")));
+
+        long[] ids = index.findRange(BigDecimal.ZERO, new BigDecimal("100000"), null, null, 10);
+
+        assertThat(ids).containsExactly(8L, 9L, 5L, 2L, 6L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    private static RoomPriceEntry entry(Long roomId, Long hotelId, String price) {
+        return new RoomPriceEntry(roomId, hotelId, new BigDecimal(price));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bookingsystem.hotelservice.service;
+
+import com.example.bookingsystem.hotelservice.dto.HotelImportResult;
+import com.example.bookingsystem.hotelservice.entity.Hotel;
+import com.example.bookingsystem.hotelservice.repository.HotelRepository;
+import com.example.bookingsystem.hotelservice.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты массового импорта каталога
+ */
+@SpringBootTest(properties = {
+        // Отдельная база: импортированный каталог не влияет на другие тесты
+        "spring.datasource.url=jdbc:h2:mem:importtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "hotel.import.chunk-size=50"
+})
+@ActiveProfiles("test")
+class HotelImportServiceTest {
+
+    @Autowired
+    private HotelImportService hotelImportService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importsCsvInBatchesAndRejectsInvalidRows() throws Exception {
+        StringBuilder csv = new StringBuilder(
+                "hotelName,hotelAddress,hotelRating,roomNumber,roomType,capacity,pricePerNight,amenities\n");
+        for (int i = 1; i <= 120; i++) {
+            csv.append("Импорт Центр,\"Ленина, 1\",4.5,").append(i).append(",Стандарт,2,5000.00,\"wifi,safe\"\n");
+        }
+        csv.append("Импорт Центр,\"Ленина, 1\",4.5,7,Стандарт,2,5000.00,\n");
+        csv.append("Импорт Центр,\"Ленина, 1\",4.5,500,Стандарт,2,5000.00,телепорт\n");
+        csv.append(",Без названия,,1,Стандарт,2,5000.00,\n");
+        csv.append("Импорт Вокзал,Вокзальная 3,,,,,,\n");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        HotelImportResult result = hotelImportService.importCatalog(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), HotelImportService.Format.CSV);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getHotelsCreated()).isEqualTo(2);
+        assertThat(result.getRoomsCreated()).isEqualTo(120);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(HotelImportResult.RowError::getRow).containsExactly(121L, 122L, 123L);
+
+        Hotel hotel = hotelRepository.findByName("Импорт Центр").orElseThrow();
+        assertThat(roomRepository.findRoomsByHotelIdOrderByTimesBookedDesc(hotel.getId())).hasSize(120);
+        assertThat(hotelRepository.findByName("Импорт Вокзал")).isPresent();
+        // 120 номеров порциями по 50: несколько пакетных INSERT и вызовов последовательности вместо 120+ выражений
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(30);
+    }
+
+    @Test
+    void extendsExistingHotelAndRejectsRoomNumbersTakenInDatabase() throws Exception {
+        String first = """
+                {"hotelName":"Импорт Парк","hotelAddress":"Парковая 2","roomNumber":"1","roomType":"Стандарт","capacity":2,"pricePerNight":4000}
+                """;
+        String second = """
+                {"hotelName":"Импорт Парк","hotelAddress":"Парковая 2","roomNumber":"1","roomType":"Стандарт","capacity":2,"pricePerNight":4000}
+                {"hotelName":"Импорт Парк","hotelAddress":"Парковая 2","roomNumber":"2","roomType":"Стандарт","capacity":2,"pricePerNight":4000}
+                """;
+        hotelImportService.importCatalog(
+                new ByteArrayInputStream(first.getBytes(StandardCharsets.UTF_8)), HotelImportService.Format.NDJSON);
+
+        // Повторная загрузка того же отеля: отель не дублируется, занятый в базе номер комнаты отклоняется
+        HotelImportResult result = hotelImportService.importCatalog(
+                new ByteArrayInputStream(second.getBytes(StandardCharsets.UTF_8)), HotelImportService.Format.NDJSON);
+
+        assertThat(result.getHotelsCreated()).isZero();
+        assertThat(result.getRoomsCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRow()).isEqualTo(1L));
+        Long hotelId = hotelRepository.findIdByNameAndAddress("Импорт Парк", "Парковая 2").orElseThrow();
+        assertThat(roomRepository.findRoomNumbersByHotelId(hotelId)).containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    void stopsNdjsonImportOnSyntaxError() throws Exception {
+        String ndjson = """
+                {"hotelName":"Импорт Река","hotelAddress":"Набережная 7","roomNumber":"1","roomType":"Люкс","capacity":2,"pricePerNight":9000}
+                {"hotelName":"Импорт Река","hotelAddress":"Набережная 7","roomNumber":"2","roomType":"Люкс","capacity":2,"pricePerNight":9000}
+                {"hotelName":"Импорт Река",
+                """;
+
+        HotelImportResult result = hotelImportService.importCatalog(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), HotelImportService.Format.NDJSON);
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getRoomsCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRow()).isEqualTo(3L));
+    }
+}
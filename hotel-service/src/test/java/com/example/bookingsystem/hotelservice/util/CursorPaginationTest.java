@@ -0,0 +1,56 @@
+package com.example.bookingsystem.hotelservice.util;
+
+import com.example.bookingsystem.hotelservice.dto.CursorPage;
+import com.example.bookingsystem.hotelservice.dto.HotelDto;
+import com.example.bookingsystem.hotelservice.entity.Hotel;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тесты для CursorPagination
+ */
+class CursorPaginationTest {
+
+    private final CursorPagination pagination = new CursorPagination(50, 200);
+
+    @Test
+    void cursor_ShouldRoundTripSortKeys() {
+        PageQuery first = pagination.parse(null, 1, "name", Hotel.class, Set.of("name"), Sort.by("id"));
+        CursorPage<HotelDto> page = pagination.toPage(window(HotelDto.builder().id(7L).name("Альфа").build()), first);
+
+        PageQuery next = pagination.parse(page.nextCursor(), 1, "name", Hotel.class, Set.of("name"), Sort.by("id"));
+
+        assertThat(((KeysetScrollPosition) next.position()).getKeys())
+                .isEqualTo(Map.of("name", "Альфа", "id", 7L));
+    }
+
+    @Test
+    void parse_ByNullableProperty_ShouldBeRejected() {
+        assertThatThrownBy(() -> pagination.parse(null, null, "rating", Hotel.class, Set.of("rating"), Sort.by("id")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rating");
+    }
+
+    @Test
+    void toPage_WithNullSortKey_ShouldFailWithPropertyName() {
+        PageQuery query = pagination.parse(null, 1, "name", Hotel.class, Set.of("name"), Sort.by("id"));
+
+        assertThatThrownBy(() -> pagination.toPage(window(HotelDto.builder().id(7L).build()), query))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("name");
+    }
+
+    private static Window<HotelDto> window(HotelDto hotel) {
+        return Window.from(List.of(hotel), index -> ScrollPosition.keyset(), true);
+    }
+}
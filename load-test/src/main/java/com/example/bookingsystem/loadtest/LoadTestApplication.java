@@ -0,0 +1,29 @@
+package com.example.bookingsystem.loadtest;
+
+/**
+ * Нагрузочный стенд: поднимает Hotel Service и Booking Service в текущем процессе (H2 в памяти, без Eureka),
+ * прогоняет профиль операций регистрации, входа, поиска, бронирования с автоподбором и отмены,
+ * печатает пропускную способность, перцентили задержек и проверку инварианта двойного бронирования.
+ * Результаты также записываются в JSON (параметр output) для сравнения между релизами
+ *
+ * Пример: duration=2m warmup=20s threads=64 mix=search:70,book:20,cancel:10 output=target/run.json
+ * Каталог производственного размера: hotels=1000 rooms=50000 bookings=500000
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ServiceCluster cluster = ServiceCluster.start(options)) {
+            TrafficDriver.Result result = new TrafficDriver(options, cluster).run();
+            LoadTestReport report = LoadTestReport.of(options, result.elapsedSeconds(), result.stats(),
+                    cluster.checkOverbooking());
+            report.print(System.out);
+            report.write(options.output());
+            System.out.println("Результаты записаны в " + options.output().toAbsolutePath());
+        }
+    }
+}
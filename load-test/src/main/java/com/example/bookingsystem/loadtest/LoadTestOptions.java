@@ -0,0 +1,90 @@
+package com.example.bookingsystem.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного стенда в виде key=value (префикс "--" допускается)
+ *
+ * @param duration        длительность замера
+ * @param warmup          прогрев перед замером (результаты не учитываются)
+ * @param threads         число виртуальных пользователей, каждый в своем потоке без пауз
+ * @param mix             веса операций, например register:5,auth:10,search:50,book:25,cancel:10
+ * @param horizonDays     горизонт дат заезда от завтрашнего дня
+ * @param bcryptStrength  стоимость BCrypt в Booking Service
+ * @param seed            зерно генератора, делает последовательность операций воспроизводимой
+ * @param hotels          размер синтетического каталога: отели (0 - демонстрационные данные сервисов)
+ * @param rooms           размер синтетического каталога: номера
+ * @param bookings        размер синтетического каталога: бронирования в истории
+ * @param output          файл результатов в формате JSON
+ */
+record LoadTestOptions(Duration duration, Duration warmup, int threads, Map<Operation, Integer> mix,
+                       int horizonDays, int bcryptStrength, long seed, int hotels, int rooms, int bookings,
+                       Path output) {
+
+    static final String DEFAULT_MIX = "register:5,auth:10,search:50,book:25,cancel:10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Ожидался параметр вида key=value: " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "15s")),
+                Integer.parseInt(values.getOrDefault("threads", "32")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("horizon-days", "90")),
+                Integer.parseInt(values.getOrDefault("bcrypt-strength", "10")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("hotels", "0")),
+                Integer.parseInt(values.getOrDefault("rooms", "0")),
+                Integer.parseInt(values.getOrDefault("bookings", "0")),
+                Path.of(values.getOrDefault("output", "target/load-test-result.json")));
+        if (options.threads() < 1 || options.horizonDays() < 1) {
+            throw new IllegalArgumentException("threads и horizon-days должны быть положительными");
+        }
+        if (options.hotels() < 0 || options.rooms() < 0 || options.bookings() < 0) {
+            throw new IllegalArgumentException("hotels, rooms и bookings не могут быть отрицательными");
+        }
+        return options;
+    }
+
+    /**
+     * Сервисы заполняются синтетическим каталогом вместо демонстрационных данных
+     */
+    boolean syntheticCatalog() {
+        return hotels > 0;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Некорректный элемент профиля: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Вес операции не может быть отрицательным: " + part);
+            }
+            weights.put(Operation.of(entry[0]), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Профиль нагрузки пуст: " + mix);
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bookingsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги прогона: пропускная способность, перцентили задержек и проверка инварианта двойного бронирования
+ */
+record LoadTestReport(int threads, String mix, String catalog, double elapsedSeconds, long requests,
+                      long errors, double throughput, List<OperationResult> operations,
+                      ServiceCluster.OverbookingCheck overbooking) {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    static LoadTestReport of(LoadTestOptions options, double elapsedSeconds,
+                             Map<Operation, OperationStats> stats, ServiceCluster.OverbookingCheck overbooking) {
+        List<OperationResult> operations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            long total = operationStats.successes() + operationStats.failures();
+            if (total == 0) {
+                continue;
+            }
+            double[] percentiles = operationStats.percentilesMillis(PERCENTILES);
+            double max = operationStats.percentilesMillis(100)[0];
+            operations.add(new OperationResult(entry.getKey().key(), total, operationStats.failures(),
+                    operationStats.successes() / elapsedSeconds,
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3], max,
+                    operationStats.errors()));
+            requests += total;
+            errors += operationStats.failures();
+        }
+        String mix = options.mix().entrySet().stream()
+                .map(weight -> weight.getKey().key() + ":" + weight.getValue())
+                .reduce((left, right) -> left + "," + right)
+                .orElse("");
+        String catalog = options.syntheticCatalog()
+                ? options.hotels() + " отелей, " + options.rooms() + " номеров, " + options.bookings() + " бронирований"
+                : "демонстрационный";
+        return new LoadTestReport(options.threads(), mix, catalog, elapsedSeconds, requests, errors,
+                (requests - errors) / elapsedSeconds, operations, overbooking);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nПрогон: %d потоков, %.1f с, профиль %s, каталог %s%n", threads, elapsedSeconds, mix, catalog);
+        out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "операция", "запросов", "ошибок", "успех/с", "p50 мс", "p90 мс", "p99 мс", "p99.9 мс", "max мс");
+        for (OperationResult operation : operations) {
+            out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.operation(), operation.requests(), operation.errors(), operation.throughput(),
+                    operation.p50Ms(), operation.p90Ms(), operation.p99Ms(), operation.p999Ms(), operation.maxMs());
+            operation.errorsByReason().forEach((reason, count) -> out.printf("%12s %s: %d%n", "", reason, count));
+        }
+        out.printf("Итого: %d запросов, %d ошибок, %.1f успешных запросов/с%n", requests, errors, throughput);
+        out.printf("Инвариант двойного бронирования: %s (подтверждено %d, конфликтующих пар %d, номеров %d)%n",
+                overbooking.violated() ? "НАРУШЕН" : "соблюден",
+                overbooking.confirmedBookings(), overbooking.conflictingPairs(), overbooking.affectedRooms());
+    }
+
+    void write(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), this);
+    }
+
+    /**
+     * Итоги одной операции
+     */
+    record OperationResult(String operation, long requests, long errors, double throughput,
+                           double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                           Map<String, Long> errorsByReason) {
+    }
+}
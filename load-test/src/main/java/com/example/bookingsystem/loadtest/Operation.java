@@ -0,0 +1,37 @@
+package com.example.bookingsystem.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Операции нагрузочного профиля
+ */
+enum Operation {
+    /**
+     * Регистрация нового пользователя (виртуальный пользователь переключается на него)
+     */
+    REGISTER,
+    /**
+     * Вход по логину и паролю
+     */
+    AUTH,
+    /**
+     * Комбинированный поиск номеров в Hotel Service на случайные даты
+     */
+    SEARCH,
+    /**
+     * Бронирование с автоподбором номера (полная сага Booking Service -> Hotel Service)
+     */
+    BOOK,
+    /**
+     * Отмена одного из подтвержденных бронирований пользователя
+     */
+    CANCEL;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Operation of(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookingsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Задержки и ошибки одной операции
+ * Экземпляр принадлежит одному виртуальному пользователю и не синхронизирован; после прогона
+ * экземпляры объединяются. Хранятся все задержки: точные перцентили важнее памяти стенда
+ */
+final class OperationStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private final Map<String, Long> errors = new TreeMap<>();
+
+    void success(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    void failure(String reason) {
+        errors.merge(reason, 1L, Long::sum);
+    }
+
+    void merge(OperationStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        other.errors.forEach((reason, errorCount) -> errors.merge(reason, errorCount, Long::sum));
+    }
+
+    int successes() {
+        return count;
+    }
+
+    long failures() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    Map<String, Long> errors() {
+        return errors;
+    }
+
+    /**
+     * Перцентили задержек успешных запросов в миллисекундах (ближайший ранг)
+     */
+    double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count == 0) {
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * count);
+            result[i] = sorted[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+        }
+        return result;
+    }
+}
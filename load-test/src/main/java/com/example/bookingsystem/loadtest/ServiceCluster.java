@@ -0,0 +1,114 @@
+package com.example.bookingsystem.loadtest;
+
+import com.example.bookingsystem.bookingservice.BookingServiceApplication;
+import com.example.bookingsystem.hotelservice.HotelServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hotel Service и Booking Service, запущенные в текущем процессе на случайных портах
+ * Каждый сервис читает собственную конфигурацию стенда (loadtest-hotel.yml, loadtest-booking.yml):
+ * application.yml обоих сервисов лежат в корне classpath и перекрывали бы друг друга.
+ * Booking Service обращается к Hotel Service по явному адресу Feign клиента, без Eureka.
+ * С параметрами hotels/rooms/bookings сервисы заполняются синтетическим каталогом и историей бронирований
+ */
+final class ServiceCluster implements AutoCloseable {
+
+    private final ConfigurableApplicationContext hotelService;
+    private final ConfigurableApplicationContext bookingService;
+
+    private ServiceCluster(ConfigurableApplicationContext hotelService,
+                           ConfigurableApplicationContext bookingService) {
+        this.hotelService = hotelService;
+        this.bookingService = bookingService;
+    }
+
+    static ServiceCluster start(LoadTestOptions options) {
+        List<String> hotelArgs = new ArrayList<>(List.of("--spring.config.name=loadtest-hotel", "--server.port=0"));
+        if (options.syntheticCatalog()) {
+            hotelArgs.addAll(List.of("--hotel.generator.enabled=true",
+                    "--hotel.generator.hotels=" + options.hotels(),
+                    "--hotel.generator.rooms=" + options.rooms(),
+                    "--hotel.generator.seed=" + options.seed()));
+        }
+        ConfigurableApplicationContext hotelService = new SpringApplicationBuilder(HotelServiceApplication.class)
+                .run(hotelArgs.toArray(String[]::new));
+        try {
+            List<String> bookingArgs = new ArrayList<>(List.of("--spring.config.name=loadtest-booking", "--server.port=0",
+                    "--spring.cloud.openfeign.client.config.hotel-service.url=http://localhost:" + port(hotelService),
+                    "--security.password.bcrypt-strength=" + options.bcryptStrength()));
+            if (options.syntheticCatalog()) {
+                // История генерируется после запуска Hotel Service: бронирования ссылаются на его номера
+                bookingArgs.addAll(List.of("--booking.generator.enabled=true",
+                        "--booking.generator.bookings=" + options.bookings(),
+                        "--booking.generator.seed=" + options.seed()));
+            }
+            ConfigurableApplicationContext bookingService = new SpringApplicationBuilder(BookingServiceApplication.class)
+                    .run(bookingArgs.toArray(String[]::new));
+            return new ServiceCluster(hotelService, bookingService);
+        } catch (RuntimeException e) {
+            hotelService.close();
+            throw e;
+        }
+    }
+
+    String hotelServiceUrl() {
+        return "http://localhost:" + port(hotelService);
+    }
+
+    String bookingServiceUrl() {
+        return "http://localhost:" + port(bookingService);
+    }
+
+    /**
+     * Проверка инварианта "нет двойного бронирования": пары подтвержденных бронирований
+     * одного номера с пересекающимися датами
+     */
+    OverbookingCheck checkOverbooking() {
+        JdbcTemplate jdbc = bookingService.getBean(JdbcTemplate.class);
+        Long confirmed = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE status = 'CONFIRMED'", Long.class);
+        Long conflictingPairs = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM bookings a
+                JOIN bookings b ON a.room_id = b.room_id AND a.id < b.id
+                    AND a.start_date < b.end_date AND b.start_date < a.end_date
+                WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+                """, Long.class);
+        Long affectedRooms = jdbc.queryForObject("""
+                SELECT COUNT(DISTINCT a.room_id) FROM bookings a
+                JOIN bookings b ON a.room_id = b.room_id AND a.id < b.id
+                    AND a.start_date < b.end_date AND b.start_date < a.end_date
+                WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+                """, Long.class);
+        return new OverbookingCheck(confirmed, conflictingPairs, affectedRooms);
+    }
+
+    @Override
+    public void close() {
+        bookingService.close();
+        hotelService.close();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Результат проверки инварианта
+     *
+     * @param confirmedBookings подтвержденные бронирования после прогона
+     * @param conflictingPairs  пары подтвержденных бронирований одного номера с пересекающимися датами
+     * @param affectedRooms     номера, забронированные дважды хотя бы на одну ночь
+     */
+    record OverbookingCheck(long confirmedBookings, long conflictingPairs, long affectedRooms) {
+
+        boolean violated() {
+            return conflictingPairs > 0;
+        }
+    }
+}
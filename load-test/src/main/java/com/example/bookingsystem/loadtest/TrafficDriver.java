@@ -0,0 +1,80 @@
+package com.example.bookingsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замкнутая модель нагрузки: threads виртуальных пользователей без пауз между запросами
+ * Прогрев не учитывается; запросы, завершившиеся после окончания замера, тоже
+ */
+final class TrafficDriver {
+
+    private final LoadTestOptions options;
+    private final ServiceCluster cluster;
+
+    private volatile boolean running = true;
+    private volatile boolean measuring;
+
+    TrafficDriver(LoadTestOptions options, ServiceCluster cluster) {
+        this.options = options;
+        this.cluster = cluster;
+    }
+
+    /**
+     * Прогон нагрузки
+     *
+     * @return объединенная статистика по операциям и фактическая длительность замера в секундах
+     */
+    Result run() throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<VirtualUser> users = new ArrayList<>(options.threads());
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        try {
+            for (int i = 0; i < options.threads(); i++) {
+                VirtualUser user = new VirtualUser(i, options, httpClient, objectMapper, cluster,
+                        () -> running, () -> measuring);
+                users.add(user);
+                executor.execute(user);
+            }
+
+            Thread.sleep(options.warmup().toMillis());
+            measuring = true;
+            long started = System.nanoTime();
+            Thread.sleep(options.duration().toMillis());
+            measuring = false;
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+            running = false;
+
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+
+            Map<Operation, OperationStats> merged = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                merged.put(operation, new OperationStats());
+            }
+            users.forEach(user -> user.stats().forEach((operation, stats) -> merged.get(operation).merge(stats)));
+            return new Result(merged, elapsedSeconds);
+        } finally {
+            running = false;
+            executor.shutdownNow();
+        }
+    }
+
+    record Result(Map<Operation, OperationStats> stats, double elapsedSeconds) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.bookingsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Виртуальный пользователь: выполняет операции профиля подряд, без пауз, в собственном потоке
+ * Начинает с регистрации; отмена без собственных подтвержденных бронирований заменяется бронированием
+ */
+final class VirtualUser implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PASSWORD = "loadTest123";
+
+    private final int index;
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String hotelServiceUrl;
+    private final String bookingServiceUrl;
+    private final BooleanSupplier running;
+    private final BooleanSupplier measuring;
+    private final Random random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final List<Long> confirmedBookings = new ArrayList<>();
+    private int registrations;
+    private String username;
+    private String token;
+
+    VirtualUser(int index, LoadTestOptions options, HttpClient httpClient, ObjectMapper objectMapper,
+                ServiceCluster cluster, BooleanSupplier running, BooleanSupplier measuring) {
+        this.index = index;
+        this.options = options;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.hotelServiceUrl = cluster.hotelServiceUrl();
+        this.bookingServiceUrl = cluster.bookingServiceUrl();
+        this.running = running;
+        this.measuring = measuring;
+        this.random = new Random(options.seed() * 31 + index);
+
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    @Override
+    public void run() {
+        execute(Operation.REGISTER);
+        while (running.getAsBoolean() && !Thread.currentThread().isInterrupted()) {
+            Operation operation = nextOperation();
+            if (operation == Operation.CANCEL && confirmedBookings.isEmpty()) {
+                operation = Operation.BOOK;
+            }
+            execute(operation);
+        }
+    }
+
+    Map<Operation, OperationStats> stats() {
+        return stats;
+    }
+
+    private Operation nextOperation() {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation operation) {
+        long started = System.nanoTime();
+        String error;
+        try {
+            error = switch (operation) {
+                case REGISTER -> register();
+                case AUTH -> authenticate();
+                case SEARCH -> search();
+                case BOOK -> book();
+                case CANCEL -> cancel();
+            };
+        } catch (IOException e) {
+            error = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long latency = System.nanoTime() - started;
+        if (!measuring.getAsBoolean()) {
+            return;
+        }
+        if (error == null) {
+            stats.get(operation).success(latency);
+        } else {
+            stats.get(operation).failure(error);
+        }
+    }
+
+    private String register() throws IOException, InterruptedException {
+        String candidate = "lt" + index + "x" + (registrations++) + "x" + Long.toString(options.seed(), 36);
+        HttpResponse<byte[]> response = send(post(bookingServiceUrl + "/user/register", Map.of(
+                "username", candidate,
+                "password", PASSWORD,
+                "email", candidate + "@loadtest.local")));
+        if (response.statusCode() != 201) {
+            return status(response);
+        }
+        username = candidate;
+        token = objectMapper.readTree(response.body()).path("token").asText();
+        confirmedBookings.clear();
+        return null;
+    }
+
+    private String authenticate() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(post(bookingServiceUrl + "/user/auth", Map.of(
+                "username", username,
+                "password", PASSWORD)));
+        if (response.statusCode() != 200) {
+            return status(response);
+        }
+        token = objectMapper.readTree(response.body()).path("token").asText();
+        return null;
+    }
+
+    private String search() throws IOException, InterruptedException {
+        LocalDate start = randomStart();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(hotelServiceUrl + "/api/rooms/search"
+                        + "?startDate=" + start + "&endDate=" + start.plusDays(randomNights())
+                        + "&minCapacity=" + randomGuests() + "&fields=summary&size=20"))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = send(request);
+        return response.statusCode() == 200 ? null : status(response);
+    }
+
+    private String book() throws IOException, InterruptedException {
+        LocalDate start = randomStart();
+        HttpResponse<byte[]> response = send(post(bookingServiceUrl + "/booking", Map.of(
+                "startDate", start.toString(),
+                "endDate", start.plusDays(randomNights()).toString(),
+                "guestCount", randomGuests(),
+                "autoSelect", true)));
+        if (response.statusCode() != 201) {
+            return status(response);
+        }
+        JsonNode booking = objectMapper.readTree(response.body());
+        if (!"CONFIRMED".equals(booking.path("status").asText())) {
+            return "status " + booking.path("status").asText();
+        }
+        confirmedBookings.add(booking.path("id").asLong());
+        return null;
+    }
+
+    private String cancel() throws IOException, InterruptedException {
+        Long bookingId = confirmedBookings.remove(random.nextInt(confirmedBookings.size()));
+        HttpRequest request = authorized(HttpRequest.newBuilder(URI.create(bookingServiceUrl + "/booking/" + bookingId)))
+                .DELETE()
+                .build();
+        HttpResponse<byte[]> response = send(request);
+        return response.statusCode() == 204 ? null : status(response);
+    }
+
+    private HttpRequest post(String url, Map<String, ?> body) throws IOException {
+        return authorized(HttpRequest.newBuilder(URI.create(url)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        builder.timeout(REQUEST_TIMEOUT);
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private LocalDate randomStart() {
+        return LocalDate.now().plusDays(1 + random.nextInt(options.horizonDays()));
+    }
+
+    private int randomNights() {
+        return 1 + random.nextInt(5);
+    }
+
+    private int randomGuests() {
+        return 1 + random.nextInt(2);
+    }
+
+    private static String status(HttpResponse<?> response) {
+        return "HTTP " + response.statusCode();
+    }
+}